@@ -0,0 +1,106 @@
+package com.tricol.Tricol.benchmarks;
+
+import com.tricol.Tricol.enums.MovementType;
+import com.tricol.Tricol.enums.OrderStatus;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.model.StockMovement;
+import com.tricol.Tricol.model.Supplier;
+import com.tricol.Tricol.model.SupplierOrder;
+import com.tricol.Tricol.model.SupplierOrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkData {
+
+    private static final LocalDate FIRST_ENTRY = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .reference(String.format("BENCH-%05d", i))
+                    .name("Benchmark product " + i)
+                    .description("Synthetic benchmark product")
+                    .unitPrice(BigDecimal.valueOf(100 + i, 2))
+                    .category("Category " + (i % 20))
+                    .reorderPoint(10)
+                    .unit("pcs")
+                    .build());
+        }
+        return products;
+    }
+
+    // Lots are returned oldest first, the order the lot book hands them to the planner
+    static List<StockLot> lots(Product product, int count, Random random) {
+        List<StockLot> lots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int quantity = 1 + random.nextInt(100);
+            lots.add(StockLot.builder()
+                    .id(product.getId() * 1_000_000 + i)
+                    .lotNumber(product.getReference() + "-" + i)
+                    .product(product)
+                    .initialQuantity(quantity)
+                    .remainingQuantity(quantity)
+                    .unitPrice(BigDecimal.valueOf(1 + random.nextInt(50_000), 2))
+                    .entryDate(FIRST_ENTRY.plusDays(i))
+                    .build());
+        }
+        return lots;
+    }
+
+    static SupplierOrder order(List<Product> products, int lineCount, Random random) {
+        SupplierOrder order = SupplierOrder.builder()
+                .id(1L)
+                .supplier(Supplier.builder()
+                        .id(1L)
+                        .companyName("Benchmark Supplier")
+                        .city("Casablanca")
+                        .ice("ICE000000000001")
+                        .build())
+                .orderDate(FIRST_ENTRY)
+                .status(OrderStatus.PENDING)
+                .build();
+
+        for (int i = 0; i < lineCount; i++) {
+            SupplierOrderItem item = SupplierOrderItem.builder()
+                    .id((long) i + 1)
+                    .supplierOrder(order)
+                    .product(products.get(i % products.size()))
+                    .quantity(1 + random.nextInt(500))
+                    .unitPrice(BigDecimal.valueOf(1 + random.nextInt(50_000), 2))
+                    .build();
+            item.calculateTotalAmount();
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    static List<StockMovement> movements(List<StockLot> lots) {
+        List<StockMovement> movements = new ArrayList<>(lots.size());
+        for (StockLot lot : lots) {
+            movements.add(StockMovement.builder()
+                    .id(lot.getId())
+                    .product(lot.getProduct())
+                    .stockLot(lot)
+                    .movementType(MovementType.SORTIE)
+                    .quantity(lot.getInitialQuantity())
+                    .unitPrice(lot.getUnitPrice())
+                    .reference("Stock outbound #1")
+                    .notes("PRODUCTION - Lot: " + lot.getLotNumber())
+                    .movementDate(LocalDateTime.of(lot.getEntryDate(), LocalTime.NOON))
+                    .build());
+        }
+        return movements;
+    }
+}
@@ -0,0 +1,145 @@
+package com.tricol.Tricol.benchmarks;
+
+import com.tricol.Tricol.cache.EntityCache;
+import com.tricol.Tricol.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares a lookup served by the entity cache with the query it saves, run against an in-memory
+// H2 database; a networked database widens the gap by the round trip
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCacheBenchmark {
+
+    private static final int PRODUCT_COUNT = 1_000;
+    private static final int PAGE_SIZE = 50;
+
+    private static final RowMapper<Product> PRODUCT_ROW = (rs, rowNum) -> Product.builder()
+            .id(rs.getLong("id"))
+            .reference(rs.getString("reference"))
+            .name(rs.getString("name"))
+            .unitPrice(rs.getBigDecimal("unit_price"))
+            .category(rs.getString("category"))
+            .reorderPoint(rs.getInt("reorder_point"))
+            .unit(rs.getString("unit"))
+            .build();
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private EntityCache<Product> cache;
+    private List<Long> page;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:entity-cache-benchmark", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, reference VARCHAR(50) UNIQUE, " +
+                "name VARCHAR(100), unit_price DECIMAL(19, 2), category VARCHAR(50), reorder_point INT, unit VARCHAR(20))");
+        List<Object[]> rows = new ArrayList<>(PRODUCT_COUNT);
+        for (Product product : BenchmarkData.products(PRODUCT_COUNT)) {
+            rows.add(new Object[]{product.getId(), product.getReference(), product.getName(),
+                    product.getUnitPrice(), product.getCategory(), product.getReorderPoint(), product.getUnit()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        cache = new EntityCache<>("products", PRODUCT_COUNT, Duration.ofMinutes(10), new SimpleMeterRegistry(),
+                Product::getId,
+                Product::getReference,
+                EntityCacheBenchmark::copyOf,
+                this::loadById,
+                this::loadAllById,
+                this::loadByReference);
+
+        random = new Random(42);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add((long) random.nextInt(PRODUCT_COUNT) + 1);
+        }
+        cache.findAllById(page);
+        for (long id = 1; id <= PRODUCT_COUNT; id++) {
+            cache.findById(id);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Optional<Product> findByIdCached() {
+        return cache.findById(nextId());
+    }
+
+    @Benchmark
+    public Optional<Product> findByIdUncached() {
+        return loadById(nextId());
+    }
+
+    @Benchmark
+    public Optional<Product> findByReferenceCached() {
+        return cache.findByKey(String.format("BENCH-%05d", nextId() - 1));
+    }
+
+    @Benchmark
+    public Optional<Product> findByReferenceUncached() {
+        return loadByReference(String.format("BENCH-%05d", nextId() - 1));
+    }
+
+    @Benchmark
+    public Map<Long, Product> findPageCached() {
+        return cache.findAllById(page);
+    }
+
+    @Benchmark
+    public List<Product> findPageUncached() {
+        return loadAllById(page);
+    }
+
+    private long nextId() {
+        return random.nextInt(PRODUCT_COUNT) + 1;
+    }
+
+    private Optional<Product> loadById(Long id) {
+        return jdbcTemplate.query("SELECT * FROM product WHERE id = ?", PRODUCT_ROW, id).stream().findFirst();
+    }
+
+    private Optional<Product> loadByReference(String reference) {
+        return jdbcTemplate.query("SELECT * FROM product WHERE reference = ?", PRODUCT_ROW, reference).stream().findFirst();
+    }
+
+    private List<Product> loadAllById(Collection<Long> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query("SELECT * FROM product WHERE id IN (" + placeholders + ")", PRODUCT_ROW, ids.toArray());
+    }
+
+    private static Product copyOf(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .reference(product.getReference())
+                .name(product.getName())
+                .unitPrice(product.getUnitPrice())
+                .category(product.getCategory())
+                .reorderPoint(product.getReorderPoint())
+                .unit(product.getUnit())
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.tricol.Tricol.benchmarks;
+
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.service.allocation.AllocationPlan;
+import com.tricol.Tricol.service.allocation.FifoAllocationPlanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FifoAllocationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lotCount;
+
+    @Param({"1", "10", "50"})
+    private int lineCount;
+
+    private final FifoAllocationPlanner planner = new FifoAllocationPlanner();
+
+    private Map<Long, Integer> requested;
+    private Map<Long, Product> products;
+    private Map<Long, List<StockLot>> lotsByProduct;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        requested = new TreeMap<>();
+        products = new HashMap<>();
+        lotsByProduct = new HashMap<>();
+
+        for (Product product : BenchmarkData.products(lineCount)) {
+            List<StockLot> lots = BenchmarkData.lots(product, lotCount, random);
+            int available = lots.stream().mapToInt(StockLot::getRemainingQuantity).sum();
+
+            products.put(product.getId(), product);
+            lotsByProduct.put(product.getId(), lots);
+            // Ask for most of the stock so the loop walks through most of the lots
+            requested.put(product.getId(), Math.max(1, available * 3 / 4));
+        }
+    }
+
+    @Benchmark
+    public AllocationPlan plan() {
+        return planner.plan(requested, products, lotsByProduct);
+    }
+}
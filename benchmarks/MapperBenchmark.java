@@ -0,0 +1,75 @@
+package com.tricol.Tricol.benchmarks;
+
+import com.tricol.Tricol.dto.response.StockMovementResponseDTO;
+import com.tricol.Tricol.dto.response.StockResponseDTO;
+import com.tricol.Tricol.dto.response.SupplierOrderResponseDTO;
+import com.tricol.Tricol.mapper.StockMapper;
+import com.tricol.Tricol.mapper.SupplierOrderMapper;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.model.StockMovement;
+import com.tricol.Tricol.model.SupplierOrder;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lineCount;
+
+    @Param({"10", "100", "1000"})
+    private int lotCount;
+
+    private final SupplierOrderMapper supplierOrderMapper = Mappers.getMapper(SupplierOrderMapper.class);
+    private final StockMapper stockMapper = Mappers.getMapper(StockMapper.class);
+
+    private SupplierOrder order;
+    private List<StockMovement> movements;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        products = BenchmarkData.products(lineCount);
+        order = BenchmarkData.order(products, lineCount, random);
+        order.calculateTotalAmount();
+
+        List<StockLot> lots = BenchmarkData.lots(products.get(0), lotCount, random);
+        movements = BenchmarkData.movements(lots);
+    }
+
+    @Benchmark
+    public SupplierOrderResponseDTO supplierOrderToDTO() {
+        return supplierOrderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public List<StockMovementResponseDTO> movementsToDTO() {
+        List<StockMovementResponseDTO> page = new ArrayList<>(movements.size());
+        for (StockMovement movement : movements) {
+            page.add(stockMapper.toMovementDTO(movement));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public List<StockResponseDTO> stockSummaryToDTO() {
+        List<StockResponseDTO> summary = new ArrayList<>(products.size());
+        for (Product product : products) {
+            summary.add(stockMapper.toStockDTO(product, 100, BigDecimal.valueOf(12_345, 2), Boolean.FALSE));
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tricol.Tricol.benchmarks;
+
+import com.tricol.Tricol.model.SupplierOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupplierOrderTotalBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int lineCount;
+
+    private SupplierOrder order;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        order = BenchmarkData.order(BenchmarkData.products(Math.min(lineCount, 500)), lineCount, random);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+}
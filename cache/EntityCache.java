@@ -0,0 +1,140 @@
+package com.tricol.Tricol.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+public class EntityCache<T> {
+
+    private final Function<T, Long> idOf;
+    private final Function<T, String> keyOf;
+    private final UnaryOperator<T> copier;
+    private final Function<Long, Optional<T>> idLoader;
+    private final Function<Collection<Long>, List<T>> bulkLoader;
+    private final Function<String, Optional<T>> keyLoader;
+
+    private final Cache<Long, T> byId;
+    private final Cache<String, Long> idByKey;
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public EntityCache(String name,
+                       long maxSize,
+                       Duration ttl,
+                       MeterRegistry meterRegistry,
+                       Function<T, Long> idOf,
+                       Function<T, String> keyOf,
+                       UnaryOperator<T> copier,
+                       Function<Long, Optional<T>> idLoader,
+                       Function<Collection<Long>, List<T>> bulkLoader,
+                       Function<String, Optional<T>> keyLoader) {
+        this.idOf = idOf;
+        this.keyOf = keyOf;
+        this.copier = copier;
+        this.idLoader = idLoader;
+        this.bulkLoader = bulkLoader;
+        this.keyLoader = keyLoader;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((Long id, T value, RemovalCause cause) -> dropKey(id))
+                .recordStats()
+                .build();
+        this.idByKey = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, name);
+        CaffeineCacheMetrics.monitor(meterRegistry, idByKey, name + "-keys");
+    }
+
+    public Optional<T> findById(Long id) {
+        T snapshot = byId.getIfPresent(id);
+        if (snapshot != null) {
+            return Optional.of(copier.apply(snapshot));
+        }
+        long seen = invalidations.get();
+        Optional<T> loaded = idLoader.apply(id);
+        loaded.ifPresent(entity -> store(entity, seen));
+        return loaded.map(copier);
+    }
+
+    public Map<Long, T> findAllById(Collection<Long> ids) {
+        Map<Long, T> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T snapshot = byId.getIfPresent(id);
+            if (snapshot != null) {
+                found.put(id, copier.apply(snapshot));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long seen = invalidations.get();
+            for (T entity : bulkLoader.apply(missing)) {
+                store(entity, seen);
+                found.put(idOf.apply(entity), copier.apply(entity));
+            }
+        }
+        return found;
+    }
+
+    public Optional<T> findByKey(String key) {
+        Long id = idByKey.getIfPresent(key);
+        if (id != null) {
+            T snapshot = byId.getIfPresent(id);
+            if (snapshot != null && key.equals(keyOf.apply(snapshot))) {
+                return Optional.of(copier.apply(snapshot));
+            }
+        }
+        long seen = invalidations.get();
+        Optional<T> loaded = keyLoader.apply(key);
+        loaded.ifPresent(entity -> store(entity, seen));
+        return loaded.map(copier);
+    }
+
+    public void evict(Long id) {
+        invalidations.incrementAndGet();
+        remove(id);
+    }
+
+    private void store(T entity, long seen) {
+        Long id = idOf.apply(entity);
+        String key = keyOf.apply(entity);
+        byId.put(id, copier.apply(entity));
+        String previousKey = keyById.put(id, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            idByKey.invalidate(previousKey);
+        }
+        idByKey.put(key, id);
+
+        // A write committed while this row was loading; drop what may be the old version
+        if (invalidations.get() != seen) {
+            remove(id);
+        }
+    }
+
+    private void remove(Long id) {
+        byId.invalidate(id);
+        dropKey(id);
+    }
+
+    private void dropKey(Long id) {
+        String key = keyById.remove(id);
+        if (key != null) {
+            idByKey.invalidate(key);
+        }
+    }
+}
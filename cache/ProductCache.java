@@ -0,0 +1,66 @@
+package com.tricol.Tricol.cache;
+
+import com.tricol.Tricol.event.ProductChangedEvent;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class ProductCache {
+
+    private final EntityCache<Product> cache;
+
+    public ProductCache(ProductRepository productRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${tricol.cache.products.max-size:10000}") long maxSize,
+                        @Value("${tricol.cache.products.ttl:10m}") Duration ttl) {
+        this.cache = new EntityCache<>("products", maxSize, ttl, meterRegistry,
+                Product::getId,
+                Product::getReference,
+                ProductCache::copyOf,
+                productRepository::findById,
+                productRepository::findAllById,
+                productRepository::findByReference);
+    }
+
+    public Optional<Product> findById(Long id) {
+        return cache.findById(id);
+    }
+
+    public Map<Long, Product> findAllById(Collection<Long> ids) {
+        return cache.findAllById(ids);
+    }
+
+    public Optional<Product> findByReference(String reference) {
+        return cache.findByKey(reference);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.evict(event.getProductId());
+    }
+
+    private static Product copyOf(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .reference(product.getReference())
+                .name(product.getName())
+                .description(product.getDescription())
+                .unitPrice(product.getUnitPrice())
+                .category(product.getCategory())
+                .reorderPoint(product.getReorderPoint())
+                .unit(product.getUnit())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+}
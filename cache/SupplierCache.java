@@ -0,0 +1,66 @@
+package com.tricol.Tricol.cache;
+
+import com.tricol.Tricol.event.SupplierChangedEvent;
+import com.tricol.Tricol.model.Supplier;
+import com.tricol.Tricol.repository.SupplierRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class SupplierCache {
+
+    private final EntityCache<Supplier> cache;
+
+    public SupplierCache(SupplierRepository supplierRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${tricol.cache.suppliers.max-size:2000}") long maxSize,
+                         @Value("${tricol.cache.suppliers.ttl:10m}") Duration ttl) {
+        this.cache = new EntityCache<>("suppliers", maxSize, ttl, meterRegistry,
+                Supplier::getId,
+                Supplier::getIce,
+                SupplierCache::copyOf,
+                supplierRepository::findById,
+                supplierRepository::findAllById,
+                supplierRepository::findByIce);
+    }
+
+    public Optional<Supplier> findById(Long id) {
+        return cache.findById(id);
+    }
+
+    public Map<Long, Supplier> findAllById(Collection<Long> ids) {
+        return cache.findAllById(ids);
+    }
+
+    public Optional<Supplier> findByIce(String ice) {
+        return cache.findByKey(ice);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        cache.evict(event.getSupplierId());
+    }
+
+    private static Supplier copyOf(Supplier supplier) {
+        return Supplier.builder()
+                .id(supplier.getId())
+                .companyName(supplier.getCompanyName())
+                .address(supplier.getAddress())
+                .contactPerson(supplier.getContactPerson())
+                .email(supplier.getEmail())
+                .phone(supplier.getPhone())
+                .city(supplier.getCity())
+                .ice(supplier.getIce())
+                .createdAt(supplier.getCreatedAt())
+                .updatedAt(supplier.getUpdatedAt())
+                .build();
+    }
+}
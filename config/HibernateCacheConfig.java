@@ -0,0 +1,65 @@
+package com.tricol.Tricol.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.Supplier;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${tricol.jpa.second-level-cache.enabled:true}") boolean enabled,
+            @Value("${tricol.jpa.second-level-cache.max-size:10000}") long maxSize,
+            @Value("${tricol.jpa.second-level-cache.query-results.max-size:1000}") long queryResultsMaxSize,
+            @Value("${tricol.jpa.second-level-cache.ttl:10m}") Duration ttl) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put("hibernate.javax.cache.cache_manager", cacheManager(maxSize, queryResultsMaxSize, ttl));
+                // Every region is declared below; a new cached entity without one fails at startup
+                properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+                properties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+            }
+        };
+    }
+
+    // The session factory owns this manager and closes it on shutdown. Its URI is unique so that
+    // application contexts sharing a JVM (as the tests do) never share regions.
+    private static CacheManager cacheManager(long maxSize, long queryResultsMaxSize, Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("tricol:hibernate-" + UUID.randomUUID()),
+                        HibernateCacheConfig.class.getClassLoader());
+        cacheManager.createCache(Product.class.getName(), region(maxSize, ttl));
+        cacheManager.createCache(Supplier.class.getName(), region(maxSize, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryResultsMaxSize, ttl));
+        // Query results are checked against these timestamps, so they must outlive every result:
+        // one entry per table, never expired
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    }
+}
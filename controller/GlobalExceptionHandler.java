@@ -1,6 +1,8 @@
 package com.tricol.Tricol.controller;
 
 import com.tricol.Tricol.exception.DuplicateResourceException;
+import com.tricol.Tricol.exception.InvalidCursorException;
+import com.tricol.Tricol.exception.InvalidImportFormatException;
 import com.tricol.Tricol.exception.ResourceNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -43,6 +45,13 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler({InvalidCursorException.class, InvalidImportFormatException.class})
+    public ResponseEntity<String> handleInvalidInput(RuntimeException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
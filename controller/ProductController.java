@@ -6,6 +6,7 @@ import com.tricol.Tricol.dto.response.ProductResponseDTO;
 import com.tricol.Tricol.dto.response.StockResponseDTO;
 import com.tricol.Tricol.mapper.StockMapper;
 import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockBalance;
 import com.tricol.Tricol.service.ProductService;
 import com.tricol.Tricol.service.StockService;
 import lombok.RequiredArgsConstructor;
@@ -55,8 +56,9 @@ public class ProductController {
     @GetMapping("/{id}/stock")
     public ResponseEntity<StockResponseDTO> getProductStock(@PathVariable Long id) {
         Product product = productService.findEntityById(id);
-        Integer currentStock = stockService.getCurrentStock(id);
-        BigDecimal stockValue = stockService.getStockValuation(id);
+        StockBalance balance = stockService.getBalance(id);
+        Integer currentStock = balance.getQuantity();
+        BigDecimal stockValue = balance.getStockValue();
         Boolean isLowStock = product.getReorderPoint() != null && 
                            currentStock <= product.getReorderPoint();
 
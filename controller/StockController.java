@@ -4,20 +4,32 @@ import com.tricol.Tricol.dto.response.*;
 import com.tricol.Tricol.mapper.ProductMapper;
 import com.tricol.Tricol.mapper.StockMapper;
 import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockBalance;
 import com.tricol.Tricol.model.StockMovement;
+import com.tricol.Tricol.repository.projection.ProductStockView;
+import com.tricol.Tricol.specification.StockMovementSpecifications;
 import com.tricol.Tricol.service.ProductService;
+import com.tricol.Tricol.service.StockAlertService;
+import com.tricol.Tricol.service.StockMovementExportService;
 import com.tricol.Tricol.service.StockService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDateTime;
+import com.tricol.Tricol.enums.ExportFormat;
 import com.tricol.Tricol.enums.MovementType;
 
 
@@ -27,66 +39,94 @@ import com.tricol.Tricol.enums.MovementType;
 public class StockController {
 
     private final StockService stockService;
+    private final StockAlertService stockAlertService;
+    private final StockMovementExportService stockMovementExportService;
     private final ProductService productService;
     private final StockMapper stockMapper;
     private final ProductMapper productMapper;
 
     @GetMapping
     public ResponseEntity<StockSummaryResponseDTO> getStockSummary() {
-        Map<String, Object> summary = stockService.getStockSummary();
-        
-        @SuppressWarnings("unchecked")
-        List<Product> products = (List<Product>) summary.get("products");
-        @SuppressWarnings("unchecked")
-        Map<Long, Integer> stockLevels = (Map<Long, Integer>) summary.get("stockLevels");
-        @SuppressWarnings("unchecked")
-        Map<Long, BigDecimal> stockValues = (Map<Long, BigDecimal>) summary.get("stockValues");
-        @SuppressWarnings("unchecked")
-        List<Product> alerts = (List<Product>) summary.get("alerts");
-        BigDecimal totalValue = (BigDecimal) summary.get("totalValue");
-
-        List<StockResponseDTO> stocks = products.stream()
-                .map(product -> {
-                    Integer currentStock = stockLevels.get(product.getId());
-                    BigDecimal stockValue = stockValues.get(product.getId());
-                    Boolean isLowStock = product.getReorderPoint() != null && 
-                                       currentStock <= product.getReorderPoint();
-                    return stockMapper.toStockDTO(product, currentStock, stockValue, isLowStock);
-                })
+        List<ProductStockView> summary = stockService.getStockSummary();
+
+        List<StockResponseDTO> stocks = summary.stream()
+                .map(view -> stockMapper.toStockDTO(
+                        view.getProduct(),
+                        view.getCurrentStock().intValue(),
+                        view.getStockValue(),
+                        view.isLowStock()))
                 .collect(Collectors.toList());
 
-        List<ProductResponseDTO> alertDTOs = alerts.stream()
-                .map(productMapper::toDTO)
+        BigDecimal totalValue = summary.stream()
+                .map(ProductStockView::getStockValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        List<ProductResponseDTO> alertDTOs = summary.stream()
+                .filter(ProductStockView::isLowStock)
+                .map(view -> productMapper.toDTO(view.getProduct()))
                 .collect(Collectors.toList());
 
         StockSummaryResponseDTO response = new StockSummaryResponseDTO(
                 stocks,
                 totalValue,
                 alertDTOs,
-                products.size(),
-                alerts.size()
+                summary.size(),
+                alertDTOs.size()
         );
 
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/movements/search")
-    public List<StockMovement> searchMovements(
+    public ResponseEntity<CursorPageResponseDTO<StockMovementResponseDTO>> searchMovements(
             @RequestParam(required = false) Long productId,
             @RequestParam(required = false) String reference,
             @RequestParam(required = false) MovementType type,
             @RequestParam(required = false) String lotNumber,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
-        return stockService.searchMovements(productId, reference, type, lotNumber, startDate, endDate);
+        return ResponseEntity.ok(stockService.searchMovements(
+                productId, reference, type, lotNumber, startDate, endDate, cursor, limit));
+    }
+
+    @GetMapping("/movements/export")
+    public void exportMovements(
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String reference,
+            @RequestParam(required = false) MovementType type,
+            @RequestParam(required = false) String lotNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+
+        String fileName = "stock-movements." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        Specification<StockMovement> spec = StockMovementSpecifications.matching(
+                productId, reference, type, lotNumber, startDate, endDate);
+
+        if (gzip) {
+            GZIPOutputStream output = new GZIPOutputStream(response.getOutputStream(), 8192);
+            stockMovementExportService.exportMovements(spec, format, output);
+            output.finish();
+        } else {
+            stockMovementExportService.exportMovements(spec, format, response.getOutputStream());
+        }
     }
 
     @GetMapping("/product/{productId}")
     public ResponseEntity<StockResponseDTO> getProductStock(@PathVariable Long productId) {
         Product product = productService.findEntityById(productId);
-        Integer currentStock = stockService.getCurrentStock(productId);
-        BigDecimal stockValue = stockService.getStockValuation(productId);
+        StockBalance balance = stockService.getBalance(productId);
+        Integer currentStock = balance.getQuantity();
+        BigDecimal stockValue = balance.getStockValue();
         Boolean isLowStock = product.getReorderPoint() != null && 
                            currentStock <= product.getReorderPoint();
 
@@ -95,30 +135,29 @@ public class StockController {
     }
 
     @GetMapping("/movements")
-    public ResponseEntity<List<StockMovementResponseDTO>> getAllMovements() {
-        List<StockMovement> movements = stockService.getAllMovements();
-        List<StockMovementResponseDTO> response = movements.stream()
-                .map(stockMapper::toMovementDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CursorPageResponseDTO<StockMovementResponseDTO>> getAllMovements(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(stockService.getAllMovements(cursor, limit));
     }
 
     @GetMapping("/movements/product/{productId}")
-    public ResponseEntity<List<StockMovementResponseDTO>> getProductMovements(@PathVariable Long productId) {
-        List<StockMovement> movements = stockService.getMovementsByProduct(productId);
-        List<StockMovementResponseDTO> response = movements.stream()
-                .map(stockMapper::toMovementDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CursorPageResponseDTO<StockMovementResponseDTO>> getProductMovements(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(stockService.getMovementsByProduct(productId, cursor, limit));
     }
 
     @GetMapping("/alerts")
     public ResponseEntity<List<ProductResponseDTO>> getStockAlerts() {
-        List<Product> alerts = stockService.getStockAlerts();
-        List<ProductResponseDTO> response = alerts.stream()
-                .map(productMapper::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(stockAlertService.getActiveAlerts());
+    }
+
+    @PostMapping("/balances/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildStockBalances() {
+        int rebuilt = stockService.rebuildStockBalances();
+        return ResponseEntity.ok(Map.of("rebuiltProducts", rebuilt));
     }
 
     @GetMapping("/valuation")
@@ -126,4 +165,15 @@ public class StockController {
         BigDecimal totalValue = stockService.getTotalStockValuation();
         return ResponseEntity.ok(Map.of("totalValue", totalValue));
     }
+
+    @GetMapping("/valuation/by-category")
+    public ResponseEntity<List<StockValuationBreakdownResponseDTO>> getValuationByCategory() {
+        return ResponseEntity.ok(stockService.getStockValuationByCategory());
+    }
+
+    @GetMapping("/valuation/by-supplier")
+    public ResponseEntity<List<StockValuationBreakdownResponseDTO>> getValuationBySupplier() {
+        return ResponseEntity.ok(stockService.getStockValuationBySupplier());
+    }
+
 }
\ No newline at end of file
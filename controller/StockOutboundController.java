@@ -1,9 +1,13 @@
 package com.tricol.Tricol.controller;
 
 import com.tricol.Tricol.dto.request.create.StockOutboundRequestDTO;
+import com.tricol.Tricol.dto.request.update.StockOutboundBatchValidateDTO;
 import com.tricol.Tricol.dto.request.update.StockOutboundUpdateDTO;
+import com.tricol.Tricol.dto.response.AllocationPreviewResponseDTO;
+import com.tricol.Tricol.dto.response.BatchValidationResponseDTO;
 import com.tricol.Tricol.dto.response.StockOutboundResponseDTO;
 import com.tricol.Tricol.service.StockOutboundService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +32,11 @@ public class StockOutboundController {
         return ResponseEntity.ok(stockOutboundService.getById(id));
     }
 
+    @GetMapping("/{id}/allocation-preview")
+    public ResponseEntity<AllocationPreviewResponseDTO> previewAllocation(@PathVariable Long id) {
+        return ResponseEntity.ok(stockOutboundService.previewAllocation(id));
+    }
+
     @PostMapping
     public ResponseEntity<StockOutboundResponseDTO> createOutbound(@RequestBody StockOutboundRequestDTO request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(stockOutboundService.createOutbound(request));
@@ -43,6 +52,11 @@ public class StockOutboundController {
         return ResponseEntity.ok(stockOutboundService.validateOutbound(id));
     }
 
+    @PostMapping("/validate-batch")
+    public ResponseEntity<BatchValidationResponseDTO> validateOutbounds(@Valid @RequestBody StockOutboundBatchValidateDTO request) {
+        return ResponseEntity.ok(stockOutboundService.validateOutbounds(request.getOutboundIds()));
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<StockOutboundResponseDTO> cancelOutbound(@PathVariable Long id) {
         return ResponseEntity.ok(stockOutboundService.cancelOutbound(id));
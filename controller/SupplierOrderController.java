@@ -2,13 +2,18 @@ package com.tricol.Tricol.controller;
 
 import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
 import com.tricol.Tricol.dto.request.update.SupplierOrderUpdateDTO;
+import com.tricol.Tricol.dto.response.BulkOrderImportResponseDTO;
 import com.tricol.Tricol.dto.response.SupplierOrderResponseDTO;
+import com.tricol.Tricol.dto.response.SupplierOrderSummaryResponseDTO;
+import com.tricol.Tricol.service.SupplierOrderImportService;
 import com.tricol.Tricol.service.SupplierOrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,9 +21,12 @@ import java.util.List;
 public class SupplierOrderController {
 
     private final SupplierOrderService supplierOrderService;
+    private final SupplierOrderImportService supplierOrderImportService;
 
-    public SupplierOrderController(SupplierOrderService supplierOrderService) {
+    public SupplierOrderController(SupplierOrderService supplierOrderService,
+                                   SupplierOrderImportService supplierOrderImportService) {
         this.supplierOrderService = supplierOrderService;
+        this.supplierOrderImportService = supplierOrderImportService;
     }
 
     @GetMapping
@@ -26,6 +34,11 @@ public class SupplierOrderController {
         return ResponseEntity.ok(supplierOrderService.getAllOrders());
     }
 
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<SupplierOrderSummaryResponseDTO>> getOrderSummaries() {
+        return ResponseEntity.ok(supplierOrderService.getOrderSummaries());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<SupplierOrderResponseDTO> getOrderById(@PathVariable Long id) {
         return ResponseEntity.ok(supplierOrderService.getOrderById(id));
@@ -36,6 +49,11 @@ public class SupplierOrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(supplierOrderService.createOrder(request));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderImportResponseDTO> importOrders(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(supplierOrderImportService.importOrders(request.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<SupplierOrderResponseDTO> updateOrder(@PathVariable Long id,@Valid @RequestBody SupplierOrderUpdateDTO request){
         return ResponseEntity.ok(supplierOrderService.updateOrder(id, request));
@@ -61,4 +79,9 @@ public class SupplierOrderController {
     public ResponseEntity<List<SupplierOrderResponseDTO>> getOrdersBySupplier(@PathVariable Long supplierId) {
         return ResponseEntity.ok(supplierOrderService.getOrdersBySupplier(supplierId));
     }
+
+    @GetMapping(value = "/supplier/{supplierId}", params = "view=summary")
+    public ResponseEntity<List<SupplierOrderSummaryResponseDTO>> getOrderSummariesBySupplier(@PathVariable Long supplierId) {
+        return ResponseEntity.ok(supplierOrderService.getOrderSummariesBySupplier(supplierId));
+    }
 }
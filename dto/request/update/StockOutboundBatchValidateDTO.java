@@ -0,0 +1,18 @@
+package com.tricol.Tricol.dto.request.update;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockOutboundBatchValidateDTO {
+
+    @NotEmpty(message = "At least one outbound ID is required")
+    private List<@NotNull(message = "Outbound ID must not be null") Long> outboundIds;
+}
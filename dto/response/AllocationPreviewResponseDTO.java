@@ -0,0 +1,19 @@
+package com.tricol.Tricol.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationPreviewResponseDTO {
+    private Long outboundId;
+    private String reference;
+    private Boolean feasible;
+    private BigDecimal totalCost;
+    private List<ProductAllocationResponseDTO> products;
+}
@@ -0,0 +1,17 @@
+package com.tricol.Tricol.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidationResponseDTO {
+    private Integer total;
+    private Integer validated;
+    private Integer rejected;
+    private List<OutboundValidationResultDTO> results;
+}
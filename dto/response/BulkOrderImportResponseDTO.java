@@ -0,0 +1,18 @@
+package com.tricol.Tricol.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderImportResponseDTO {
+    private Integer total;
+    private Integer created;
+    private Integer rejected;
+    private Integer failed;
+    private List<BulkOrderResultDTO> results;
+}
@@ -0,0 +1,18 @@
+package com.tricol.Tricol.dto.response;
+
+import com.tricol.Tricol.enums.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResultDTO {
+    private Integer index;
+    private Long orderId;
+    private ImportStatus status;
+    private List<String> errors;
+}
@@ -0,0 +1,20 @@
+package com.tricol.Tricol.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LotAllocationResponseDTO {
+    private Long lotId;
+    private String lotNumber;
+    private LocalDate entryDate;
+    private BigDecimal unitPrice;
+    private Integer quantity;
+    private BigDecimal cost;
+}
@@ -0,0 +1,17 @@
+package com.tricol.Tricol.dto.response;
+
+import com.tricol.Tricol.enums.OutboundStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundValidationResultDTO {
+    private Long outboundId;
+    private String reference;
+    private Boolean validated;
+    private OutboundStatus status;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.tricol.Tricol.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductAllocationResponseDTO {
+    private Long productId;
+    private String productReference;
+    private String productName;
+    private Integer requestedQuantity;
+    private Integer allocatedQuantity;
+    private Integer shortfall;
+    private BigDecimal cost;
+    private List<LotAllocationResponseDTO> lots;
+}
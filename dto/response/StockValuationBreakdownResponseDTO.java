@@ -0,0 +1,16 @@
+package com.tricol.Tricol.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockValuationBreakdownResponseDTO {
+    private String group;
+    private Long quantity;
+    private BigDecimal stockValue;
+}
@@ -0,0 +1,21 @@
+package com.tricol.Tricol.dto.response;
+
+import com.tricol.Tricol.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierOrderSummaryResponseDTO {
+    private Long id;
+    private String supplierName;
+    private LocalDate orderDate;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private Long lineCount;
+}
@@ -0,0 +1,7 @@
+package com.tricol.Tricol.enums;
+
+public enum ImportStatus {
+    CREATED,
+    REJECTED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.tricol.Tricol.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+public class StockLevelChangedEvent {
+    private Set<Long> productIds;
+}
@@ -0,0 +1,10 @@
+package com.tricol.Tricol.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SupplierChangedEvent {
+    private Long supplierId;
+}
@@ -0,0 +1,11 @@
+package com.tricol.Tricol.exception;
+
+public class InvalidImportFormatException extends RuntimeException {
+    public InvalidImportFormatException(String message) {
+        super(message);
+    }
+
+    public InvalidImportFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.tricol.Tricol.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStats.statementPrepared();
+        return sql;
+    }
+}
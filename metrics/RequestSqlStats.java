@@ -0,0 +1,74 @@
+package com.tricol.Tricol.metrics;
+
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long executionNanos;
+
+    private RequestSqlStats() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestSqlStats());
+    }
+
+    public static RequestSqlStats current() {
+        RequestSqlStats stats = CURRENT.get();
+        return stats == null ? new RequestSqlStats() : stats;
+    }
+
+    public static RequestSqlStats end() {
+        RequestSqlStats stats = current();
+        CURRENT.remove();
+        return stats;
+    }
+
+    // Counts the statements run on the calling thread while the work executes, restoring any enclosing capture
+    public static RequestSqlStats capture(Runnable work) {
+        RequestSqlStats enclosing = CURRENT.get();
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        try {
+            work.run();
+            return stats;
+        } finally {
+            if (enclosing != null) {
+                enclosing.statements += stats.statements;
+                enclosing.executionNanos += stats.executionNanos;
+                CURRENT.set(enclosing);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    // For statements issued through plain JDBC, which the Hibernate statement inspector never sees
+    public static void jdbcStatementExecuted(long nanos) {
+        statementPrepared();
+        executionTime(nanos);
+    }
+
+    static void statementPrepared() {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void executionTime(long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public double getExecutionMillis() {
+        return executionNanos / 1_000_000.0;
+    }
+}
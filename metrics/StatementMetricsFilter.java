@@ -0,0 +1,49 @@
+package com.tricol.Tricol.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private final StockMetrics stockMetrics;
+
+    @Value("${tricol.sql.statement-budget:50}")
+    private int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats stats = RequestSqlStats.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            if (pattern != null) {
+                stockMetrics.recordRequestStatements(request.getMethod(), uri, stats.getStatements());
+            }
+            if (stats.getStatements() > statementBudget) {
+                stockMetrics.recordStatementBudgetExceeded(request.getMethod(), uri);
+                log.warn("{} {} executed {} SQL statements ({} ms), over the budget of {}",
+                        request.getMethod(), request.getRequestURI(), stats.getStatements(),
+                        String.format("%.1f", stats.getExecutionMillis()), statementBudget);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.tricol.Tricol.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class StockMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Timer stockEntryTimer;
+    private final Timer outboundAllocationTimer;
+    private final Timer batchAllocationTimer;
+    private final Timer outboundValidationTimer;
+    private final Timer orderReceptionTimer;
+    private final Timer stockSummaryTimer;
+    private final DistributionSummary receiptLines;
+    private final DistributionSummary outboundLots;
+    private final Counter insufficientStockRejections;
+
+    public StockMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.stockEntryTimer = Timer.builder("tricol.stock.entry")
+                .description("Time to turn a received order into lots and movements")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.outboundAllocationTimer = Timer.builder("tricol.stock.outbound")
+                .description("Time to allocate and consume lots for outbound quantities")
+                .tag("mode", "single")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.batchAllocationTimer = Timer.builder("tricol.stock.outbound")
+                .description("Time to allocate and consume lots for outbound quantities")
+                .tag("mode", "batch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.outboundValidationTimer = Timer.builder("tricol.outbound.validation")
+                .description("Time to validate a stock outbound")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.orderReceptionTimer = Timer.builder("tricol.order.reception")
+                .description("Time to receive a supplier order")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.stockSummaryTimer = Timer.builder("tricol.stock.summary")
+                .description("Time to compute the stock summary")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.receiptLines = DistributionSummary.builder("tricol.stock.entry.lines")
+                .description("Order lines per stock receipt")
+                .register(registry);
+        this.outboundLots = DistributionSummary.builder("tricol.stock.outbound.lots")
+                .description("Lots touched per outbound allocation")
+                .register(registry);
+        this.insufficientStockRejections = Counter.builder("tricol.stock.outbound.rejections")
+                .description("Outbound allocations rejected for insufficient stock")
+                .register(registry);
+    }
+
+    public void timeStockEntry(int lines, Runnable work) {
+        receiptLines.record(lines);
+        stockEntryTimer.record(work);
+    }
+
+    public <T> T timeOutboundAllocation(Supplier<T> work) {
+        return outboundAllocationTimer.record(work);
+    }
+
+    public <T> T timeBatchAllocation(Supplier<T> work) {
+        return batchAllocationTimer.record(work);
+    }
+
+    public <T> T timeOutboundValidation(Supplier<T> work) {
+        return outboundValidationTimer.record(work);
+    }
+
+    public <T> T timeOrderReception(Supplier<T> work) {
+        return orderReceptionTimer.record(work);
+    }
+
+    public <T> T timeStockSummary(Supplier<T> work) {
+        return stockSummaryTimer.record(work);
+    }
+
+    public void recordLotsTouched(int lots) {
+        outboundLots.record(lots);
+    }
+
+    public void recordInsufficientStock() {
+        insufficientStockRejections.increment();
+    }
+
+    public void recordRequestStatements(String method, String uri, int statements) {
+        DistributionSummary.builder("tricol.http.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .record(statements);
+    }
+
+    public void recordStatementBudgetExceeded(String method, String uri) {
+        Counter.builder("tricol.http.statement.budget.exceeded")
+                .description("HTTP requests that executed more SQL statements than the configured budget")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .increment();
+    }
+}
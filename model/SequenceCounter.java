@@ -0,0 +1,22 @@
+package com.tricol.Tricol.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "sequence_counter")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceCounter {
+    @Id
+    @Column(name = "sequence_key", length = 150)
+    private String sequenceKey;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,45 @@
+package com.tricol.Tricol.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_balance")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBalance {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "stock_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal stockValue;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static StockBalance empty(Long productId) {
+        return StockBalance.builder()
+                .productId(productId)
+                .quantity(0)
+                .stockValue(BigDecimal.ZERO)
+                .build();
+    }
+}
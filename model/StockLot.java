@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class StockLot {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_lot_seq")
+    @SequenceGenerator(name = "stock_lot_seq", sequenceName = "stock_lot_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "lot_number", nullable = false, unique = true, length = 100)
@@ -30,7 +31,7 @@ public class StockLot {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_order_id", nullable = false)
     private SupplierOrder supplierOrder;
 
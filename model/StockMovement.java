@@ -12,14 +12,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_movement")
+@Table(name = "stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_date_id", columnList = "movement_date, id"),
+        @Index(name = "idx_stock_movement_product_date_id", columnList = "product_id, movement_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class StockMovement {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -14,7 +14,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class StockOutboundItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_outbound_item_seq")
+    @SequenceGenerator(name = "stock_outbound_item_seq", sequenceName = "stock_outbound_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -21,7 +21,8 @@ import java.util.List;
 @AllArgsConstructor
 public class SupplierOrder {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supplier_order_seq")
+    @SequenceGenerator(name = "supplier_order_seq", sequenceName = "supplier_order_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class SupplierOrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supplier_order_item_seq")
+    @SequenceGenerator(name = "supplier_order_item_seq", sequenceName = "supplier_order_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
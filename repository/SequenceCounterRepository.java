@@ -0,0 +1,26 @@
+package com.tricol.Tricol.repository;
+
+import com.tricol.Tricol.model.SequenceCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SequenceCounterRepository extends JpaRepository<SequenceCounter, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SequenceCounter c WHERE c.sequenceKey = :sequenceKey")
+    Optional<SequenceCounter> findBySequenceKeyForUpdate(@Param("sequenceKey") String sequenceKey);
+
+    // PostgreSQL upsert syntax; H2 accepts it only in MODE=PostgreSQL
+    @Modifying
+    @Query(value = "INSERT INTO sequence_counter (sequence_key, next_value) VALUES (:sequenceKey, 1) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("sequenceKey") String sequenceKey);
+}
@@ -0,0 +1,46 @@
+package com.tricol.Tricol.repository;
+
+import com.tricol.Tricol.model.StockBalance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockBalanceRepository extends JpaRepository<StockBalance, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM StockBalance b WHERE b.productId IN :productIds ORDER BY b.productId")
+    List<StockBalance> findByProductIdInForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    // PostgreSQL upsert syntax; H2 accepts it only in MODE=PostgreSQL
+    @Modifying
+    @Query(value = "INSERT INTO stock_balance (product_id, quantity, stock_value, version, updated_at) " +
+            "SELECT p.id, 0, 0, 0, CURRENT_TIMESTAMP FROM product p WHERE p.id IN (:productIds) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissingBalances(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO stock_balance (product_id, quantity, stock_value, version, updated_at) " +
+            "SELECT p.id, 0, 0, 0, CURRENT_TIMESTAMP FROM product p " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertAllMissingBalances();
+
+    @Query(value = "SELECT product_id FROM stock_balance ORDER BY product_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllBalances();
+
+    @Modifying
+    @Query("UPDATE VERSIONED StockBalance b SET " +
+            "b.quantity = COALESCE((SELECT CAST(SUM(sl.remainingQuantity) AS Integer) FROM StockLot sl " +
+            "WHERE sl.product.id = b.productId AND sl.remainingQuantity > 0), 0), " +
+            "b.stockValue = COALESCE((SELECT SUM(sl.unitPrice * sl.remainingQuantity) FROM StockLot sl " +
+            "WHERE sl.product.id = b.productId AND sl.remainingQuantity > 0), 0), " +
+            "b.updatedAt = LOCAL DATETIME")
+    int recomputeBalancesFromOpenLots();
+}
@@ -1,23 +1,47 @@
 package com.tricol.Tricol.repository;
 
+import com.tricol.Tricol.dto.response.StockValuationBreakdownResponseDTO;
 import com.tricol.Tricol.model.Product;
 import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.repository.projection.ProductStockView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface StockLotRepository extends JpaRepository<StockLot, Long> {
 
-    @Query("SELECT sl FROM StockLot sl WHERE sl.product.id = :productId AND sl.remainingQuantity > 0 ORDER BY sl.entryDate ASC, sl.id ASC")
-    List<StockLot> findAvailableLotsByProductOrderByEntryDate(@Param("productId") Long productId);
+    @Query("SELECT sl FROM StockLot sl WHERE sl.product.id IN :productIds AND sl.remainingQuantity > 0 " +
+            "ORDER BY sl.product.id ASC, sl.entryDate ASC, sl.id ASC")
+    List<StockLot> findAvailableLotsByProductIds(@Param("productIds") Collection<Long> productIds);
 
-    List<StockLot> findByProduct(Product product);
+    @Query("SELECT new com.tricol.Tricol.repository.projection.ProductStockView(p, " +
+            "COALESCE(SUM(sl.remainingQuantity), 0L), COALESCE(SUM(sl.unitPrice * sl.remainingQuantity), 0bd)) " +
+            "FROM Product p LEFT JOIN StockLot sl ON sl.product = p AND sl.remainingQuantity > 0 " +
+            "GROUP BY p ORDER BY p.id")
+    List<ProductStockView> summarizeStockByProduct();
+
+    @Query("SELECT COALESCE(SUM(sl.unitPrice * sl.remainingQuantity), 0bd) FROM StockLot sl WHERE sl.remainingQuantity > 0")
+    BigDecimal sumOpenStockValue();
+
+    @Query("SELECT new com.tricol.Tricol.dto.response.StockValuationBreakdownResponseDTO(p.category, " +
+            "SUM(sl.remainingQuantity), SUM(sl.unitPrice * sl.remainingQuantity)) " +
+            "FROM StockLot sl JOIN sl.product p WHERE sl.remainingQuantity > 0 " +
+            "GROUP BY p.category ORDER BY p.category")
+    List<StockValuationBreakdownResponseDTO> sumOpenStockValueByCategory();
 
-    boolean existsByLotNumber(String lotNumber);
+    @Query("SELECT new com.tricol.Tricol.dto.response.StockValuationBreakdownResponseDTO(s.companyName, " +
+            "SUM(sl.remainingQuantity), SUM(sl.unitPrice * sl.remainingQuantity)) " +
+            "FROM StockLot sl JOIN sl.supplierOrder o LEFT JOIN o.supplier s WHERE sl.remainingQuantity > 0 " +
+            "GROUP BY s.id, s.companyName ORDER BY s.companyName")
+    List<StockValuationBreakdownResponseDTO> sumOpenStockValueBySupplier();
+
+    List<StockLot> findByProduct(Product product);
 }
 
 
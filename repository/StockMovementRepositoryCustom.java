@@ -0,0 +1,15 @@
+package com.tricol.Tricol.repository;
+
+import com.tricol.Tricol.dto.response.StockMovementResponseDTO;
+import com.tricol.Tricol.model.StockMovement;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface StockMovementRepositoryCustom {
+
+    List<StockMovementResponseDTO> findMovementViews(Specification<StockMovement> spec, int limit);
+
+    Stream<StockMovementResponseDTO> streamMovementViews(Specification<StockMovement> spec, int fetchSize);
+}
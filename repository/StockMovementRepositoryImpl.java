@@ -0,0 +1,56 @@
+package com.tricol.Tricol.repository;
+
+import com.tricol.Tricol.dto.response.StockMovementResponseDTO;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.model.StockMovement;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class StockMovementRepositoryImpl implements StockMovementRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StockMovementResponseDTO> findMovementViews(Specification<StockMovement> spec, int limit) {
+        return entityManager.createQuery(movementViewQuery(spec))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<StockMovementResponseDTO> streamMovementViews(Specification<StockMovement> spec, int fetchSize) {
+        return entityManager.createQuery(movementViewQuery(spec))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<StockMovementResponseDTO> movementViewQuery(Specification<StockMovement> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StockMovementResponseDTO> query = criteriaBuilder.createQuery(StockMovementResponseDTO.class);
+        Root<StockMovement> root = query.from(StockMovement.class);
+        Join<StockMovement, Product> product = root.join("product", JoinType.INNER);
+        Join<StockMovement, StockLot> stockLot = root.join("stockLot", JoinType.LEFT);
+
+        return query.select(criteriaBuilder.construct(StockMovementResponseDTO.class,
+                        root.get("id"),
+                        product.get("reference"),
+                        product.get("name"),
+                        root.get("movementType"),
+                        root.get("quantity"),
+                        root.get("unitPrice"),
+                        root.get("reference"),
+                        root.get("notes"),
+                        stockLot.get("lotNumber"),
+                        root.get("movementDate")))
+                .where(spec.toPredicate(root, query, criteriaBuilder))
+                .orderBy(criteriaBuilder.desc(root.get("movementDate")), criteriaBuilder.desc(root.get("id")));
+    }
+}
@@ -2,14 +2,31 @@ package com.tricol.Tricol.repository;
 
 import com.tricol.Tricol.enums.OutboundStatus;
 import com.tricol.Tricol.model.StockOutbound;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface StockOutboundRepository extends JpaRepository<StockOutbound, Long> {
     List<StockOutbound> findByStatus(OutboundStatus status);
     List<StockOutbound> findByWorkshop(String workshop);
-    boolean existsByReference(String reference);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM StockOutbound o WHERE o.id = :id")
+    Optional<StockOutbound> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM StockOutbound o WHERE o.id IN :ids ORDER BY o.id")
+    List<StockOutbound> findByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"items", "items.product"})
+    List<StockOutbound> findByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
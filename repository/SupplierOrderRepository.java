@@ -1,8 +1,12 @@
 package com.tricol.Tricol.repository;
 
+import com.tricol.Tricol.dto.response.SupplierOrderSummaryResponseDTO;
 import com.tricol.Tricol.enums.OrderStatus;
 import com.tricol.Tricol.model.SupplierOrder;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -10,7 +14,29 @@ import java.util.List;
 
 @Repository
 public interface SupplierOrderRepository extends JpaRepository<SupplierOrder , Long> {
+
+    @Override
+    @EntityGraph(attributePaths = {"supplier", "items", "items.product"})
+    List<SupplierOrder> findAll();
+
+    @EntityGraph(attributePaths = {"supplier", "items", "items.product"})
     List<SupplierOrder> findBySupplierId(Long supplierId);
+
+    @EntityGraph(attributePaths = {"supplier", "items", "items.product"})
     List<SupplierOrder> findByStatus(OrderStatus status);
+
+    @EntityGraph(attributePaths = {"supplier", "items", "items.product"})
     List<SupplierOrder> findByOrderDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT new com.tricol.Tricol.dto.response.SupplierOrderSummaryResponseDTO(" +
+            "o.id, s.companyName, o.orderDate, o.totalAmount, o.status, COUNT(i)) " +
+            "FROM SupplierOrder o LEFT JOIN o.supplier s LEFT JOIN o.items i " +
+            "GROUP BY o.id, s.companyName, o.orderDate, o.totalAmount, o.status ORDER BY o.id")
+    List<SupplierOrderSummaryResponseDTO> findOrderSummaries();
+
+    @Query("SELECT new com.tricol.Tricol.dto.response.SupplierOrderSummaryResponseDTO(" +
+            "o.id, s.companyName, o.orderDate, o.totalAmount, o.status, COUNT(i)) " +
+            "FROM SupplierOrder o JOIN o.supplier s LEFT JOIN o.items i WHERE s.id = :supplierId " +
+            "GROUP BY o.id, s.companyName, o.orderDate, o.totalAmount, o.status ORDER BY o.id")
+    List<SupplierOrderSummaryResponseDTO> findOrderSummariesBySupplierId(@Param("supplierId") Long supplierId);
 }
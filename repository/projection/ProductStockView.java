@@ -0,0 +1,21 @@
+package com.tricol.Tricol.repository.projection;
+
+import com.tricol.Tricol.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockView {
+    private Product product;
+    private Long currentStock;
+    private BigDecimal stockValue;
+
+    public boolean isLowStock() {
+        return product.getReorderPoint() != null && currentStock <= product.getReorderPoint();
+    }
+}
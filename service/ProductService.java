@@ -1,21 +1,25 @@
 package com.tricol.Tricol.service;
 
 
+import com.tricol.Tricol.cache.ProductCache;
 import com.tricol.Tricol.exception.DuplicateResourceException;
 import com.tricol.Tricol.exception.ResourceNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import com.tricol.Tricol.dto.request.create.ProductCreateRequestDTO;
 import com.tricol.Tricol.dto.request.update.ProductUpdateRequestDTO;
 import com.tricol.Tricol.dto.response.ProductResponseDTO;
+import com.tricol.Tricol.event.ProductChangedEvent;
 import com.tricol.Tricol.mapper.ProductMapper;
 import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockBalance;
 import com.tricol.Tricol.repository.ProductRepository;
+import com.tricol.Tricol.repository.StockBalanceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +27,10 @@ import java.util.Optional;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final StockBalanceRepository stockBalanceRepository;
+    private final ProductCache productCache;
     private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductResponseDTO createProduct(ProductCreateRequestDTO requestDTO){
         if (productRepository.findByReference(requestDTO.getReference()).isPresent()) {
@@ -34,6 +41,8 @@ public class ProductService {
         Product product = productMapper.toEntity(requestDTO);
         try {
             Product savedProduct = productRepository.save(product);
+            stockBalanceRepository.save(StockBalance.empty(savedProduct.getId()));
+            eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
         //  convert saved entity to dto and return it as a response
             return productMapper.toDTO(savedProduct);
         } catch (DataIntegrityViolationException e) {
@@ -43,17 +52,31 @@ public class ProductService {
 
     @Transactional(readOnly = true)
     public ProductResponseDTO findById(Long id){
-        Product product = productRepository.findById(id)
+        Product product = productCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product with id " + id + " does not exist"));
         return productMapper.toDTO(product);
     }
 
     @Transactional(readOnly = true)
     public Product findEntityById(Long id){
-        return productRepository.findById(id)
+        return productCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product with id " + id + " does not exist"));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, Product> findEntitiesByIds(Collection<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, Product> products = productCache.findAllById(requestedIds);
+
+        if (products.size() < requestedIds.size()) {
+            List<Long> missingIds = requestedIds.stream()
+                    .filter(id -> !products.containsKey(id))
+                    .toList();
+            throw new ResourceNotFoundException("Products not found with IDs: " + missingIds);
+        }
+        return products;
+    }
+
     @Transactional(readOnly = true)
     public List<ProductResponseDTO> findAllProducts(){
         // as always, find all gives us a response, so  we go from entity to dto
@@ -65,7 +88,7 @@ public class ProductService {
 
     @Transactional(readOnly = true)
     public ProductResponseDTO findByReference(String reference) {
-        Product product = productRepository.findByReference(reference)
+        Product product = productCache.findByReference(reference)
                 .orElseThrow(() -> new ResourceNotFoundException("Product with reference '" + reference + "' not found"));
         return productMapper.toDTO(product);
     }
@@ -85,6 +108,7 @@ public class ProductService {
 
         try {
             Product saved = productRepository.save(existing);
+            eventPublisher.publishEvent(new ProductChangedEvent(id));
             return productMapper.toDTO(saved);
         } catch (DataIntegrityViolationException e) {
             throw new DuplicateResourceException("Product with reference " + dto.getReference() + " already exists", e);
@@ -94,7 +118,9 @@ public class ProductService {
     public void deleteProduct(Long id) {
         Product existing = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product with id " + id + " does not exist"));
+        stockBalanceRepository.deleteById(id);
         productRepository.delete(existing);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
     }
 
 
@@ -0,0 +1,92 @@
+package com.tricol.Tricol.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class SequenceAllocator {
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final SequenceBlockService sequenceBlockService;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private volatile LocalDate currentDay = LocalDate.MIN;
+
+    // Gapless: the counter is advanced in the caller's transaction and rolls back with it
+    public String nextDailyNumber(String prefix, LocalDate day) {
+        String dailyPrefix = dailyPrefix(prefix, day);
+        return format(dailyPrefix, sequenceBlockService.reserveBlock(dailyPrefix, 1));
+    }
+
+    // Gap-tolerant: numbers are handed out in memory from a block of the counter, reserved in the
+    // caller's transaction when the block runs out. Callers must serialise allocations per prefix
+    // (receipts hold the product's balance lock), so no one draws from a block before the
+    // transaction that reserved it commits; if that transaction rolls back, the block is dropped.
+    public List<String> nextBlockNumbers(String prefix, LocalDate day, int count, int blockSize) {
+        if (day.isAfter(currentDay)) {
+            rollOver(day);
+        }
+
+        String dailyPrefix = dailyPrefix(prefix, day);
+        Block block = blocks.computeIfAbsent(dailyPrefix, key -> new Block());
+        List<String> numbers = new ArrayList<>(count);
+        synchronized (block) {
+            if (block.limit - block.next < count) {
+                // The rest of the current block is skipped
+                int size = Math.max(blockSize, count);
+                block.next = sequenceBlockService.reserveBlock(dailyPrefix, size);
+                block.limit = block.next + size;
+                dropOnRollback(dailyPrefix, block);
+            }
+            for (int i = 0; i < count; i++) {
+                numbers.add(format(dailyPrefix, block.next++));
+            }
+        }
+        return numbers;
+    }
+
+    public String dailyPrefix(String prefix, LocalDate day) {
+        return prefix + "-" + day.format(DAY_FORMAT);
+    }
+
+    private void dropOnRollback(String dailyPrefix, Block block) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    blocks.remove(dailyPrefix, block);
+                }
+            }
+        });
+    }
+
+    private synchronized void rollOver(LocalDate day) {
+        if (day.isAfter(currentDay)) {
+            blocks.clear();
+            currentDay = day;
+        }
+    }
+
+    private static String format(String dailyPrefix, long value) {
+        return String.format("%s-%03d", dailyPrefix, value);
+    }
+
+    private static class Block {
+        private long next;
+        private long limit;
+    }
+}
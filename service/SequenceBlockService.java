@@ -0,0 +1,29 @@
+package com.tricol.Tricol.service;
+
+import com.tricol.Tricol.model.SequenceCounter;
+import com.tricol.Tricol.repository.SequenceCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SequenceBlockService {
+
+    private final SequenceCounterRepository sequenceCounterRepository;
+
+    // Joins the caller's transaction: the counter row stays locked until it commits,
+    // and the reservation rolls back with it instead of needing a second connection
+    public long reserveBlock(String sequenceKey, int blockSize) {
+        SequenceCounter counter = sequenceCounterRepository.findBySequenceKeyForUpdate(sequenceKey)
+                .orElseGet(() -> {
+                    sequenceCounterRepository.insertIfAbsent(sequenceKey);
+                    return sequenceCounterRepository.findBySequenceKeyForUpdate(sequenceKey).orElseThrow();
+                });
+
+        long first = counter.getNextValue();
+        counter.setNextValue(first + blockSize);
+        return first;
+    }
+}
@@ -0,0 +1,168 @@
+package com.tricol.Tricol.service;
+
+import com.tricol.Tricol.dto.response.ProductResponseDTO;
+import com.tricol.Tricol.event.ProductChangedEvent;
+import com.tricol.Tricol.event.StockBalancesRebuiltEvent;
+import com.tricol.Tricol.event.StockLevelChangedEvent;
+import com.tricol.Tricol.mapper.ProductMapper;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockBalance;
+import com.tricol.Tricol.repository.ProductRepository;
+import com.tricol.Tricol.repository.StockBalanceRepository;
+import com.tricol.Tricol.repository.StockLotRepository;
+import com.tricol.Tricol.repository.projection.ProductStockView;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertService {
+
+    private final ProductRepository productRepository;
+    private final StockBalanceRepository stockBalanceRepository;
+    private final StockLotRepository stockLotRepository;
+    private final ProductMapper productMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${tricol.alerts.recheck-delay:200ms}")
+    private Duration recheckDelay;
+
+    private final Map<Long, ProductResponseDTO> activeAlerts = new ConcurrentHashMap<>();
+
+    // Committing threads only queue product ids. One worker applies them in order, so rechecks
+    // and reloads never interleave and a request never waits on them while holding its connection.
+    private final Set<Long> pendingProducts = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public List<ProductResponseDTO> getActiveAlerts() {
+        return activeAlerts.values().stream()
+                .sorted(Comparator.comparing(ProductResponseDTO::getId))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestReload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        requestRecheck(event.getProductIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        requestRecheck(Set.of(event.getProductId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockBalancesRebuilt(StockBalancesRebuiltEvent event) {
+        requestReload();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void requestRecheck(Collection<Long> productIds) {
+        pendingProducts.addAll(productIds);
+        scheduleDrain();
+    }
+
+    private void requestReload() {
+        reloadPending.set(true);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true) && !worker.isShutdown()) {
+            worker.schedule(this::drain, recheckDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        // Cleared first: ids queued from here on schedule the next drain, which reads after their commit
+        drainScheduled.set(false);
+        boolean reload = reloadPending.getAndSet(false);
+        Set<Long> productIds = new HashSet<>();
+        for (Iterator<Long> iterator = pendingProducts.iterator(); iterator.hasNext(); ) {
+            productIds.add(iterator.next());
+            iterator.remove();
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                if (reload) {
+                    reload();
+                } else if (!productIds.isEmpty()) {
+                    recheck(productIds);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Kept for the next drain rather than retried in a loop
+            pendingProducts.addAll(productIds);
+            reloadPending.compareAndSet(false, reload);
+            log.error("Stock alert recheck failed for products {}", productIds, e);
+        }
+    }
+
+    private void reload() {
+        Map<Long, ProductResponseDTO> alerts = stockLotRepository.summarizeStockByProduct().stream()
+                .filter(ProductStockView::isLowStock)
+                .map(view -> productMapper.toDTO(view.getProduct()))
+                .collect(Collectors.toMap(ProductResponseDTO::getId, Function.identity()));
+
+        activeAlerts.keySet().retainAll(alerts.keySet());
+        activeAlerts.putAll(alerts);
+        log.info("Loaded {} stock alerts", alerts.size());
+    }
+
+    private void recheck(Collection<Long> productIds) {
+        Map<Long, StockBalance> balances = stockBalanceRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(StockBalance::getProductId, Function.identity()));
+
+        Set<Long> remaining = new HashSet<>(productIds);
+        for (Product product : productRepository.findAllById(productIds)) {
+            remaining.remove(product.getId());
+            int currentStock = balances.containsKey(product.getId())
+                    ? balances.get(product.getId()).getQuantity()
+                    : 0;
+
+            if (product.getReorderPoint() != null && currentStock <= product.getReorderPoint()) {
+                activeAlerts.put(product.getId(), productMapper.toDTO(product));
+            } else {
+                activeAlerts.remove(product.getId());
+            }
+        }
+
+        remaining.forEach(activeAlerts::remove);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tricol.Tricol.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tricol.Tricol.dto.response.StockMovementResponseDTO;
+import com.tricol.Tricol.enums.ExportFormat;
+import com.tricol.Tricol.model.StockMovement;
+import com.tricol.Tricol.repository.StockMovementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class StockMovementExportService {
+
+    private static final String CSV_HEADER =
+            "id,productReference,productName,movementType,quantity,unitPrice,reference,notes,lotNumber,movementDate";
+
+    private final StockMovementRepository stockMovementRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tricol.export.fetch-size:500}")
+    private int fetchSize;
+
+    public long exportMovements(Specification<StockMovement> spec, ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        try (Stream<StockMovementResponseDTO> movements = stockMovementRepository.streamMovementViews(spec, fetchSize)) {
+            Iterator<StockMovementResponseDTO> iterator = movements.iterator();
+            while (iterator.hasNext()) {
+                StockMovementResponseDTO dto = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+
+                if (++exported % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("Exported {} stock movements as {}", exported, format);
+        return exported;
+    }
+
+    private void writeCsvRow(Writer writer, StockMovementResponseDTO dto) throws IOException {
+        writer.write(String.join(",",
+                csv(dto.getId()),
+                csv(dto.getProductReference()),
+                csv(dto.getProductName()),
+                csv(dto.getMovementType()),
+                csv(dto.getQuantity()),
+                csv(dto.getUnitPrice()),
+                csv(dto.getReference()),
+                csv(dto.getNotes()),
+                csv(dto.getLotNumber()),
+                csv(dto.getMovementDate())));
+        writer.write('\n');
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,23 +1,35 @@
 package com.tricol.Tricol.service;
 
+import com.tricol.Tricol.dto.request.create.StockOutboundItemRequestDTO;
 import com.tricol.Tricol.dto.request.create.StockOutboundRequestDTO;
 import com.tricol.Tricol.dto.request.update.StockOutboundUpdateDTO;
+import com.tricol.Tricol.dto.response.AllocationPreviewResponseDTO;
+import com.tricol.Tricol.dto.response.BatchValidationResponseDTO;
+import com.tricol.Tricol.dto.response.LotAllocationResponseDTO;
+import com.tricol.Tricol.dto.response.OutboundValidationResultDTO;
+import com.tricol.Tricol.dto.response.ProductAllocationResponseDTO;
 import com.tricol.Tricol.dto.response.StockOutboundResponseDTO;
 import com.tricol.Tricol.enums.OutboundStatus;
 import com.tricol.Tricol.exception.ResourceNotFoundException;
 import com.tricol.Tricol.mapper.StockOutboundMapper;
+import com.tricol.Tricol.metrics.StockMetrics;
 import com.tricol.Tricol.model.Product;
 import com.tricol.Tricol.model.StockOutbound;
 import com.tricol.Tricol.model.StockOutboundItem;
-import com.tricol.Tricol.repository.ProductRepository;
 import com.tricol.Tricol.repository.StockOutboundRepository;
+import com.tricol.Tricol.service.allocation.AllocationPlan;
+import com.tricol.Tricol.service.allocation.AllocationRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -25,21 +37,25 @@ import java.util.List;
 public class StockOutboundService {
 
     private final StockOutboundRepository stockOutboundRepository;
-    private final ProductRepository productRepository;
+    private final ProductService productService;
     private final StockOutboundMapper stockOutboundMapper;
     private final StockService stockService;
+    private final SequenceAllocator sequenceAllocator;
+    private final StockMetrics stockMetrics;
 
     public StockOutboundResponseDTO createOutbound(StockOutboundRequestDTO dto) {
         StockOutbound outbound = StockOutbound.builder()
-                .reference(generateReference())
                 .reason(dto.getReason())
                 .workshop(dto.getWorkshop())
                 .notes(dto.getNotes())
                 .build();
 
+        Map<Long, Product> products = productService.findEntitiesByIds(dto.getItems().stream()
+                .map(StockOutboundItemRequestDTO::getProductId)
+                .toList());
+
         for (var itemDto : dto.getItems()) {
-            Product product = productRepository.findById(itemDto.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + itemDto.getProductId()));
+            Product product = products.get(itemDto.getProductId());
 
             StockOutboundItem item = StockOutboundItem.builder()
                     .product(product)
@@ -50,6 +66,9 @@ public class StockOutboundService {
             outbound.addItem(item);
         }
 
+        // Reserved last and in this transaction: a failed lookup never consumes a number, a failed
+        // insert rolls the counter back, and the daily counter row stays locked only until the commit
+        outbound.setReference(generateReference());
         StockOutbound saved = stockOutboundRepository.save(outbound);
         return stockOutboundMapper.toDTO(saved);
     }
@@ -69,7 +88,7 @@ public class StockOutboundService {
     }
 
     public StockOutboundResponseDTO updateOutbound(Long id, StockOutboundUpdateDTO dto) {
-        StockOutbound existing = stockOutboundRepository.findById(id)
+        StockOutbound existing = stockOutboundRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Stock outbound not found with id: " + id));
 
         if (existing.getStatus() != OutboundStatus.DRAFT) {
@@ -82,38 +101,130 @@ public class StockOutboundService {
     }
 
     public StockOutboundResponseDTO validateOutbound(Long id) {
-        StockOutbound outbound = stockOutboundRepository.findById(id)
+        return stockMetrics.timeOutboundValidation(() -> validate(id));
+    }
+
+    private StockOutboundResponseDTO validate(Long id) {
+        StockOutbound outbound = stockOutboundRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Stock outbound not found with id: " + id));
 
         if (outbound.getStatus() != OutboundStatus.DRAFT) {
             throw new IllegalStateException("Only draft outbounds can be validated");
         }
 
-        for (StockOutboundItem item : outbound.getItems()) {
-            Integer currentStock = stockService.getCurrentStock(item.getProduct().getId());
-            if (currentStock < item.getQuantity()) {
-                throw new IllegalStateException("Insufficient stock for product: " + item.getProduct().getReference());
+        // The row is locked now; load its items with their products in one query
+        stockOutboundRepository.findByIdIn(List.of(id));
+
+        stockService.allocateOutbound(
+                requestedQuantities(outbound),
+                products(outbound),
+                "Stock outbound #" + outbound.getId(),
+                outbound.getReason().toString()
+        );
+
+        outbound.setStatus(OutboundStatus.VALIDATED);
+        StockOutbound saved = stockOutboundRepository.save(outbound);
+        return stockOutboundMapper.toDTO(saved);
+    }
+
+    public BatchValidationResponseDTO validateOutbounds(List<Long> ids) {
+        List<Long> orderedIds = ids.stream().distinct().sorted().toList();
+
+        // Lock in id order before reading the status, so overlapping batches cannot both validate a draft
+        Map<Long, StockOutbound> outbounds = new HashMap<>();
+        if (!stockOutboundRepository.findByIdInForUpdate(orderedIds).isEmpty()) {
+            // The rows are locked now; fetch them again with their items
+            stockOutboundRepository.findByIdIn(orderedIds).forEach(outbound -> outbounds.put(outbound.getId(), outbound));
+        }
+
+        Map<Long, OutboundValidationResultDTO> results = new HashMap<>();
+        List<StockOutbound> drafts = new ArrayList<>();
+        for (Long id : orderedIds) {
+            StockOutbound outbound = outbounds.get(id);
+            if (outbound == null) {
+                results.put(id, new OutboundValidationResultDTO(id, null, false, null,
+                        "Stock outbound not found with id: " + id));
+            } else if (outbound.getStatus() != OutboundStatus.DRAFT) {
+                results.put(id, new OutboundValidationResultDTO(id, outbound.getReference(), false, outbound.getStatus(),
+                        "Only draft outbounds can be validated"));
+            } else {
+                drafts.add(outbound);
             }
         }
 
-        for (StockOutboundItem item : outbound.getItems()) {
-            stockService.processStockOutbound(
-                    item.getProduct(),
-                    item.getQuantity(),
+        Map<Long, Product> products = new HashMap<>();
+        List<AllocationRequest> requests = new ArrayList<>();
+        for (StockOutbound outbound : drafts) {
+            products.putAll(products(outbound));
+            requests.add(new AllocationRequest(
+                    requestedQuantities(outbound),
                     "Stock outbound #" + outbound.getId(),
-                    outbound.getReason().toString()
-            );
+                    outbound.getReason().toString()));
         }
 
-        outbound.setStatus(OutboundStatus.VALIDATED);
-        StockOutbound saved = stockOutboundRepository.save(outbound);
-        return stockOutboundMapper.toDTO(saved);
+        List<AllocationPlan> plans = drafts.isEmpty() ? List.of() : stockService.allocateOutbounds(requests, products);
+
+        for (int i = 0; i < drafts.size(); i++) {
+            StockOutbound outbound = drafts.get(i);
+            AllocationPlan plan = plans.get(i);
+            if (plan.isFeasible()) {
+                outbound.setStatus(OutboundStatus.VALIDATED);
+                results.put(outbound.getId(), new OutboundValidationResultDTO(outbound.getId(), outbound.getReference(),
+                        true, OutboundStatus.VALIDATED, null));
+            } else {
+                results.put(outbound.getId(), new OutboundValidationResultDTO(outbound.getId(), outbound.getReference(),
+                        false, outbound.getStatus(),
+                        "Insufficient stock for product: " + plan.getShortfalls().get(0).getProduct().getReference()));
+            }
+        }
+
+        List<OutboundValidationResultDTO> ordered = ids.stream().distinct().map(results::get).toList();
+        int validated = (int) ordered.stream().filter(OutboundValidationResultDTO::getValidated).count();
+        return new BatchValidationResponseDTO(ordered.size(), validated, ordered.size() - validated, ordered);
     }
 
-    public StockOutboundResponseDTO cancelOutbound(Long id) {
+    @Transactional(readOnly = true)
+    public AllocationPreviewResponseDTO previewAllocation(Long id) {
         StockOutbound outbound = stockOutboundRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Stock outbound not found with id: " + id));
 
+        if (outbound.getStatus() != OutboundStatus.DRAFT) {
+            throw new IllegalStateException("Only draft outbounds can be previewed");
+        }
+
+        AllocationPlan plan = stockService.planOutbound(requestedQuantities(outbound), products(outbound));
+
+        List<ProductAllocationResponseDTO> allocations = plan.getAllocations().stream()
+                .map(allocation -> new ProductAllocationResponseDTO(
+                        allocation.getProduct().getId(),
+                        allocation.getProduct().getReference(),
+                        allocation.getProduct().getName(),
+                        allocation.getRequestedQuantity(),
+                        allocation.getAllocatedQuantity(),
+                        allocation.getShortfall(),
+                        allocation.getCost(),
+                        allocation.getLots().stream()
+                                .map(lotAllocation -> new LotAllocationResponseDTO(
+                                        lotAllocation.getLot().getId(),
+                                        lotAllocation.getLot().getLotNumber(),
+                                        lotAllocation.getLot().getEntryDate(),
+                                        lotAllocation.getLot().getUnitPrice(),
+                                        lotAllocation.getQuantity(),
+                                        lotAllocation.getCost()))
+                                .toList()))
+                .toList();
+
+        BigDecimal totalCost = allocations.stream()
+                .map(ProductAllocationResponseDTO::getCost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new AllocationPreviewResponseDTO(outbound.getId(), outbound.getReference(), plan.isFeasible(), totalCost, allocations);
+    }
+
+    public StockOutboundResponseDTO cancelOutbound(Long id) {
+        StockOutbound outbound = stockOutboundRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock outbound not found with id: " + id));
+
         if (outbound.getStatus() == OutboundStatus.VALIDATED) {
             throw new IllegalStateException("Validated outbounds cannot be cancelled");
         }
@@ -130,17 +241,23 @@ public class StockOutboundService {
                 .toList();
     }
 
-    private String generateReference() {
-        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String baseRef = "OUT-" + date;
-        
-        String reference = baseRef + "-001";
-        int counter = 2;
-        while (stockOutboundRepository.existsByReference(reference)) {
-            reference = baseRef + "-" + String.format("%03d", counter);
-            counter++;
+    private Map<Long, Integer> requestedQuantities(StockOutbound outbound) {
+        Map<Long, Integer> requested = new TreeMap<>();
+        for (StockOutboundItem item : outbound.getItems()) {
+            requested.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
         }
-        
-        return reference;
+        return requested;
+    }
+
+    private Map<Long, Product> products(StockOutbound outbound) {
+        Map<Long, Product> products = new HashMap<>();
+        for (StockOutboundItem item : outbound.getItems()) {
+            products.putIfAbsent(item.getProduct().getId(), item.getProduct());
+        }
+        return products;
+    }
+
+    private String generateReference() {
+        return sequenceAllocator.nextDailyNumber("OUT", LocalDate.now());
     }
 }
\ No newline at end of file
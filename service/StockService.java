@@ -1,24 +1,49 @@
 package com.tricol.Tricol.service;
 
+import com.tricol.Tricol.dto.response.CursorPageResponseDTO;
+import com.tricol.Tricol.dto.response.StockMovementResponseDTO;
+import com.tricol.Tricol.dto.response.StockValuationBreakdownResponseDTO;
 import com.tricol.Tricol.enums.MovementType;
+import com.tricol.Tricol.event.StockBalancesRebuiltEvent;
+import com.tricol.Tricol.event.StockLevelChangedEvent;
 import com.tricol.Tricol.exception.ResourceNotFoundException;
+import com.tricol.Tricol.metrics.StockMetrics;
 import com.tricol.Tricol.model.*;
 import com.tricol.Tricol.repository.ProductRepository;
+import com.tricol.Tricol.repository.StockBalanceRepository;
 import com.tricol.Tricol.repository.StockLotRepository;
 import com.tricol.Tricol.repository.StockMovementRepository;
+import com.tricol.Tricol.repository.projection.ProductStockView;
+import com.tricol.Tricol.service.allocation.AllocationPlan;
+import com.tricol.Tricol.service.allocation.AllocationRequest;
+import com.tricol.Tricol.service.allocation.FifoAllocationPlanner;
+import com.tricol.Tricol.service.allocation.FifoLotBook;
+import com.tricol.Tricol.service.allocation.LotAllocation;
+import com.tricol.Tricol.service.allocation.ProductAllocation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.springframework.data.jpa.domain.Specification;
+import com.tricol.Tricol.specification.MovementCursor;
 import com.tricol.Tricol.specification.StockMovementSpecifications;
 import java.time.LocalDateTime;
 
@@ -28,17 +53,40 @@ import java.time.LocalDateTime;
 @Slf4j
 public class StockService {
 
+    private static final int DEFAULT_MOVEMENT_PAGE_SIZE = 50;
+    private static final int MAX_MOVEMENT_PAGE_SIZE = 500;
+
     private final StockLotRepository stockLotRepository;
     private final StockMovementRepository stockMovementRepository;
     private final ProductRepository productRepository;
+    private final StockBalanceRepository stockBalanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SequenceAllocator sequenceAllocator;
+    private final FifoAllocationPlanner fifoAllocationPlanner;
+    private final FifoLotBook fifoLotBook;
+    private final StockMetrics stockMetrics;
 
+    @Value("${tricol.lot-number.block-size:20}")
+    private int lotNumberBlockSize;
 
     public void processStockEntry(SupplierOrder supplierOrder) {
+        stockMetrics.timeStockEntry(supplierOrder.getItems().size(), () -> receiveStock(supplierOrder));
+    }
+
+    private void receiveStock(SupplierOrder supplierOrder) {
         log.info("Processing stock entry for order ID: {}", supplierOrder.getId());
+        Map<Long, StockBalance> balances = lockBalances(supplierOrder.getItems().stream()
+                .map(item -> item.getProduct().getId())
+                .toList());
+
+        Map<Long, Iterator<String>> lotNumbers = reserveLotNumbers(supplierOrder.getItems());
+
+        List<StockLot> lots = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
 
         for (SupplierOrderItem item : supplierOrder.getItems()) {
 
-            String lotNumber = generateLotNumber(item.getProduct(), supplierOrder);
+            String lotNumber = lotNumbers.get(item.getProduct().getId()).next();
 
             StockLot stockLot = StockLot.builder()
                     .lotNumber(lotNumber)
@@ -50,7 +98,7 @@ public class StockService {
                     .entryDate(supplierOrder.getOrderDate())
                     .build();
 
-            stockLotRepository.save(stockLot);
+            lots.add(stockLot);
             log.info("Created stock lot: {} for product: {} with quantity: {}",
                     lotNumber, item.getProduct().getReference(), item.getQuantity());
 
@@ -65,149 +113,257 @@ public class StockService {
                     .notes("Entrée de stock - Lot: " + lotNumber)
                     .build();
 
-            stockMovementRepository.save(movement);
+            movements.add(movement);
+
+            StockBalance balance = balances.get(item.getProduct().getId());
+            balance.setQuantity(balance.getQuantity() + item.getQuantity());
+            balance.setStockValue(balance.getStockValue().add(
+                    item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()))));
         }
 
+        stockLotRepository.saveAll(lots);
+        stockMovementRepository.saveAll(movements);
+        fifoLotBook.evict(balances.keySet());
+
+        eventPublisher.publishEvent(new StockLevelChangedEvent(Set.copyOf(balances.keySet())));
+
         log.info("Stock entry processed successfully for order ID: {}", supplierOrder.getId());
     }
 
-    private String generateLotNumber(Product product, SupplierOrder supplierOrder) {
-        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String baseNumber = String.format("LOT-%s-%s-%d",
-                product.getReference(),
-                date,
-                supplierOrder.getId());
+    // The balance locks serialise receipts per product, which is what lets lot numbers come from in-memory blocks
+    private Map<Long, Iterator<String>> reserveLotNumbers(List<SupplierOrderItem> items) {
+        Map<Long, Product> products = new TreeMap<>();
+        Map<Long, Integer> counts = new HashMap<>();
+        for (SupplierOrderItem item : items) {
+            products.putIfAbsent(item.getProduct().getId(), item.getProduct());
+            counts.merge(item.getProduct().getId(), 1, Integer::sum);
+        }
+
+        Map<Long, Iterator<String>> lotNumbers = new HashMap<>();
+        products.forEach((productId, product) -> lotNumbers.put(productId, sequenceAllocator
+                .nextBlockNumbers("LOT-" + product.getReference(), LocalDate.now(), counts.get(productId), lotNumberBlockSize)
+                .iterator()));
+        return lotNumbers;
+    }
 
-        String lotNumber = baseNumber;
-        int counter = 1;
-        while (stockLotRepository.existsByLotNumber(lotNumber)) {
-            lotNumber = baseNumber + "-" + counter;
-            counter++;
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<StockMovementResponseDTO> getAllMovements(String cursor, Integer limit) {
+        return findMovementPage(Specification.where(null), cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public AllocationPlan planOutbound(Map<Long, Integer> requested, Map<Long, Product> products) {
+        List<StockLot> openLots = stockLotRepository.findAvailableLotsByProductIds(requested.keySet());
+        return fifoAllocationPlanner.plan(requested, products, openLots);
+    }
+
+    public AllocationPlan allocateOutbound(Map<Long, Integer> requested,
+                                           Map<Long, Product> products,
+                                           String reference,
+                                           String notes) {
+        return stockMetrics.timeOutboundAllocation(() -> allocate(requested, products, reference, notes));
+    }
+
+    private AllocationPlan allocate(Map<Long, Integer> requested,
+                                    Map<Long, Product> products,
+                                    String reference,
+                                    String notes) {
+        log.info("Processing FIFO stock outbound {} for {} products", reference, requested.size());
+
+        Map<Long, StockBalance> balances = lockBalances(requested.keySet());
+        requested.forEach((productId, quantity) -> {
+            if (balances.get(productId).getQuantity() < quantity) {
+                stockMetrics.recordInsufficientStock();
+                throw new IllegalStateException("Insufficient stock for product: " + products.get(productId).getReference());
+            }
+        });
+
+        Map<Long, List<StockLot>> openLots = fifoLotBook.checkout(balances);
+        AllocationPlan plan = fifoAllocationPlanner.plan(requested, products, openLots);
+        if (!plan.isFeasible()) {
+            stockMetrics.recordInsufficientStock();
+            throw new IllegalStateException("Insufficient stock for product: "
+                    + plan.getShortfalls().get(0).getProduct().getReference());
         }
 
-        return lotNumber;
+        fifoLotBook.writeThrough(applyAllocation(plan, balances, reference, notes));
+        eventPublisher.publishEvent(new StockLevelChangedEvent(Set.copyOf(balances.keySet())));
+        return plan;
     }
 
-    public List<StockMovement> getAllMovements() {
-        return stockMovementRepository.findAllByOrderByMovementDateDesc();
+    public List<AllocationPlan> allocateOutbounds(List<AllocationRequest> requests, Map<Long, Product> products) {
+        return stockMetrics.timeBatchAllocation(() -> allocateBatch(requests, products));
     }
 
-    public void processStockOutbound(Product product, Integer quantity, String reference, String notes) {
-        log.info("Processing FIFO stock outbound for product: {} with quantity: {}", product.getReference(), quantity);
-        
-        List<StockLot> availableLots = stockLotRepository.findAvailableLotsByProductOrderByEntryDate(product.getId());
-        
-        int remainingQuantity = quantity;
-        for (StockLot lot : availableLots) {
-            if (remainingQuantity <= 0) break;
-            
-            int quantityToTake = Math.min(remainingQuantity, lot.getRemainingQuantity());
-            
-            lot.setRemainingQuantity(lot.getRemainingQuantity() - quantityToTake);
-            stockLotRepository.save(lot);
-            
-            StockMovement movement = StockMovement.builder()
-                    .product(product)
-                    .stockLot(lot)
-                    .movementType(MovementType.SORTIE)
-                    .quantity(quantityToTake)
-                    .unitPrice(lot.getUnitPrice())
-                    .reference(reference)
-                    .notes(notes + " - Lot: " + lot.getLotNumber())
-                    .build();
-            
-            stockMovementRepository.save(movement);
-            remainingQuantity -= quantityToTake;
+    private List<AllocationPlan> allocateBatch(List<AllocationRequest> requests, Map<Long, Product> products) {
+        Set<Long> productIds = new TreeSet<>();
+        requests.forEach(request -> productIds.addAll(request.getQuantities().keySet()));
+        log.info("Processing FIFO stock outbound batch of {} requests over {} products", requests.size(), productIds.size());
+
+        Map<Long, StockBalance> balances = lockBalances(productIds);
+        Map<Long, List<StockLot>> openLots = fifoLotBook.checkout(balances);
+
+        List<AllocationPlan> plans = new ArrayList<>();
+        List<LotAllocation> consumed = new ArrayList<>();
+        Set<Long> changedProducts = new TreeSet<>();
+        for (AllocationRequest request : requests) {
+            AllocationPlan plan = fifoAllocationPlanner.plan(request.getQuantities(), products, openLots);
+            if (plan.isFeasible()) {
+                consumed.addAll(applyAllocation(plan, balances, request.getReference(), request.getNotes()));
+                changedProducts.addAll(request.getQuantities().keySet());
+            } else {
+                stockMetrics.recordInsufficientStock();
+            }
+            plans.add(plan);
         }
-        
-        if (remainingQuantity > 0) {
-            throw new IllegalStateException("Insufficient stock for product: " + product.getReference());
+        fifoLotBook.writeThrough(consumed);
+
+        if (!changedProducts.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(Set.copyOf(changedProducts)));
         }
+        return plans;
     }
 
-    @Transactional(readOnly = true)
-    public Integer getCurrentStock(Long productId) {
-        List<StockLot> lots = stockLotRepository.findAvailableLotsByProductOrderByEntryDate(productId);
-        return lots.stream().mapToInt(StockLot::getRemainingQuantity).sum();
+    private List<LotAllocation> applyAllocation(AllocationPlan plan,
+                                                Map<Long, StockBalance> balances,
+                                                String reference,
+                                                String notes) {
+        List<LotAllocation> consumed = new ArrayList<>();
+        List<StockMovement> movements = new ArrayList<>();
+        for (ProductAllocation allocation : plan.getAllocations()) {
+            for (LotAllocation lotAllocation : allocation.getLots()) {
+                StockLot lot = lotAllocation.getLot();
+                lot.setRemainingQuantity(lot.getRemainingQuantity() - lotAllocation.getQuantity());
+                consumed.add(lotAllocation);
+
+                movements.add(StockMovement.builder()
+                        .product(allocation.getProduct())
+                        .stockLot(stockLotRepository.getReferenceById(lot.getId()))
+                        .movementType(MovementType.SORTIE)
+                        .quantity(lotAllocation.getQuantity())
+                        .unitPrice(lot.getUnitPrice())
+                        .reference(reference)
+                        .notes(notes + " - Lot: " + lot.getLotNumber())
+                        .build());
+            }
+
+            StockBalance balance = balances.get(allocation.getProduct().getId());
+            balance.setQuantity(balance.getQuantity() - allocation.getAllocatedQuantity());
+            balance.setStockValue(balance.getStockValue().subtract(allocation.getCost()));
+        }
+
+        stockMovementRepository.saveAll(movements);
+        stockMetrics.recordLotsTouched(consumed.size());
+        return consumed;
+    }
+
+    public Map<Long, StockBalance> lockBalances(Collection<Long> productIds) {
+        List<Long> orderedIds = productIds.stream().distinct().sorted().toList();
+
+        List<StockBalance> locked = stockBalanceRepository.findByProductIdInForUpdate(orderedIds);
+        if (locked.size() < orderedIds.size()) {
+            // Products whose balance row is missing (e.g. dropped by a rebuild) get one created race-free
+            stockBalanceRepository.insertMissingBalances(orderedIds);
+            locked = stockBalanceRepository.findByProductIdInForUpdate(orderedIds);
+        }
+
+        Map<Long, StockBalance> balances = new LinkedHashMap<>();
+        locked.forEach(balance -> balances.put(balance.getProductId(), balance));
+        if (balances.size() < orderedIds.size()) {
+            List<Long> missingIds = orderedIds.stream()
+                    .filter(id -> !balances.containsKey(id))
+                    .toList();
+            throw new ResourceNotFoundException("Products not found with IDs: " + missingIds);
+        }
+        return balances;
     }
 
     @Transactional(readOnly = true)
-    public BigDecimal getStockValuation(Long productId) {
-        List<StockLot> lots = stockLotRepository.findAvailableLotsByProductOrderByEntryDate(productId);
-        return lots.stream()
-                .map(lot -> lot.getUnitPrice().multiply(BigDecimal.valueOf(lot.getRemainingQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public StockBalance getBalance(Long productId) {
+        return stockBalanceRepository.findById(productId)
+                .orElseGet(() -> StockBalance.empty(productId));
+    }
+
+    public int rebuildStockBalances() {
+        // Hold every balance lock, taken in product order like receipts and outbounds take theirs,
+        // so no stock operation interleaves with the recomputation
+        stockBalanceRepository.insertAllMissingBalances();
+        stockBalanceRepository.lockAllBalances();
+        int rebuilt = stockBalanceRepository.recomputeBalancesFromOpenLots();
+        fifoLotBook.evictAll();
+        log.info("Rebuilt stock balances from open lots for {} products", rebuilt);
+        eventPublisher.publishEvent(new StockBalancesRebuiltEvent(rebuilt));
+        return rebuilt;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeStockBalances() {
+        if (stockBalanceRepository.count() == 0 && stockLotRepository.count() > 0) {
+            log.info("Stock balance table is empty, rebuilding it from stock lots");
+            rebuildStockBalances();
+        }
     }
 
     @Transactional(readOnly = true)
     public BigDecimal getTotalStockValuation() {
-        List<StockLot> allLots = stockLotRepository.findAll();
-        return allLots.stream()
-                .filter(lot -> lot.getRemainingQuantity() > 0)
-                .map(lot -> lot.getUnitPrice().multiply(BigDecimal.valueOf(lot.getRemainingQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return stockLotRepository.sumOpenStockValue();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockValuationBreakdownResponseDTO> getStockValuationByCategory() {
+        return stockLotRepository.sumOpenStockValueByCategory();
     }
 
     @Transactional(readOnly = true)
-    public List<Product> getStockAlerts() {
-        return productRepository.findAll().stream()
-                .filter(product -> {
-                    if (product.getReorderPoint() == null) return false;
-                    Integer currentStock = getCurrentStock(product.getId());
-                    return currentStock <= product.getReorderPoint();
-                })
-                .collect(Collectors.toList());
+    public List<StockValuationBreakdownResponseDTO> getStockValuationBySupplier() {
+        return stockLotRepository.sumOpenStockValueBySupplier();
     }
 
     @Transactional(readOnly = true)
-    public List<StockMovement> getMovementsByProduct(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
-        return stockMovementRepository.findByProductOrderByMovementDateDesc(product);
+    public CursorPageResponseDTO<StockMovementResponseDTO> getMovementsByProduct(Long productId, String cursor, Integer limit) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        return findMovementPage(StockMovementSpecifications.hasProductId(productId), cursor, limit);
     }
 
     @Transactional(readOnly = true)
-    public Map<String, Object> getStockSummary() {
-        List<Product> allProducts = productRepository.findAll();
-        
-        Map<Long, Integer> stockLevels = allProducts.stream()
-                .collect(Collectors.toMap(
-                        Product::getId,
-                        product -> getCurrentStock(product.getId())
-                ));
-        
-        Map<Long, BigDecimal> stockValues = allProducts.stream()
-                .collect(Collectors.toMap(
-                        Product::getId,
-                        product -> getStockValuation(product.getId())
-                ));
-        
-        return Map.of(
-                "products", allProducts,
-                "stockLevels", stockLevels,
-                "stockValues", stockValues,
-                "totalValue", getTotalStockValuation(),
-                "alerts", getStockAlerts()
-        );
+    public List<ProductStockView> getStockSummary() {
+        return stockMetrics.timeStockSummary(stockLotRepository::summarizeStockByProduct);
     }
 
     @Transactional(readOnly = true)
-    public List<StockMovement> searchMovements(Long productId,
-                                               String reference,
-                                               MovementType type,
-                                               String lotNumber,
-                                               LocalDateTime startDate,
-                                               LocalDateTime endDate) {
+    public CursorPageResponseDTO<StockMovementResponseDTO> searchMovements(Long productId,
+                                                                String reference,
+                                                                MovementType type,
+                                                                String lotNumber,
+                                                                LocalDateTime startDate,
+                                                                LocalDateTime endDate,
+                                                                String cursor,
+                                                                Integer limit) {
 
-        Specification<StockMovement> spec = StockMovementSpecifications.hasProductId(productId)
-                .and(StockMovementSpecifications.hasProductReference(reference))
-                .and(StockMovementSpecifications.hasMovementType(type))
-                .and(StockMovementSpecifications.hasLotNumber(lotNumber))
-                .and(StockMovementSpecifications.movementDateBetween(startDate, endDate));
+        Specification<StockMovement> spec = StockMovementSpecifications.matching(
+                productId, reference, type, lotNumber, startDate, endDate);
 
-        return stockMovementRepository.findAll(spec);
+        return findMovementPage(spec, cursor, limit);
     }
 
-}
+    private CursorPageResponseDTO<StockMovementResponseDTO> findMovementPage(Specification<StockMovement> filter,
+                                                                  String cursor,
+                                                                  Integer limit) {
+        int pageSize = limit == null ? DEFAULT_MOVEMENT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_MOVEMENT_PAGE_SIZE));
+        Specification<StockMovement> spec = filter.and(StockMovementSpecifications.after(MovementCursor.decode(cursor)));
+
+        List<StockMovementResponseDTO> movements = stockMovementRepository.findMovementViews(spec, pageSize + 1);
 
+        String next = null;
+        if (movements.size() > pageSize) {
+            movements = movements.subList(0, pageSize);
+            StockMovementResponseDTO last = movements.get(pageSize - 1);
+            next = new MovementCursor(last.getMovementDate(), last.getId()).encode();
+        }
+
+        return new CursorPageResponseDTO<>(movements, pageSize, next);
+    }
 
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.tricol.Tricol.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tricol.Tricol.cache.ProductCache;
+import com.tricol.Tricol.cache.SupplierCache;
+import com.tricol.Tricol.dto.request.create.SupplierOrderItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
+import com.tricol.Tricol.dto.response.BulkOrderImportResponseDTO;
+import com.tricol.Tricol.dto.response.BulkOrderResultDTO;
+import com.tricol.Tricol.enums.ImportStatus;
+import com.tricol.Tricol.exception.InvalidImportFormatException;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.Supplier;
+import com.tricol.Tricol.model.SupplierOrder;
+import com.tricol.Tricol.repository.SupplierOrderRepository;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SupplierOrderImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final SupplierCache supplierCache;
+    private final ProductCache productCache;
+    private final SupplierOrderRepository supplierOrderRepository;
+    private final SupplierOrderService supplierOrderService;
+
+    @Value("${tricol.orders.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkOrderImportResponseDTO importOrders(InputStream input) throws IOException {
+        List<BulkOrderResultDTO> results = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidImportFormatException("Bulk import expects a JSON array of orders");
+            }
+
+            List<SupplierOrderRequestDTO> chunk = new ArrayList<>(chunkSize);
+            List<String> conversionErrors = new ArrayList<>(chunkSize);
+            StreamReadException malformed = null;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new JsonEOFException(parser, null, "Unexpected end of input: the orders array is not closed");
+                    }
+                    // Each element is read as a tree first, so a bad element is rejected without losing the stream position
+                    readOrder(parser.readValueAsTree(), chunk, conversionErrors);
+                    if (chunk.size() == chunkSize) {
+                        results.addAll(importChunk(results.size(), chunk, conversionErrors));
+                        chunk = new ArrayList<>(chunkSize);
+                        conversionErrors = new ArrayList<>(chunkSize);
+                    }
+                }
+            } catch (StreamReadException e) {
+                // Earlier chunks are already committed, so report the break instead of failing the whole request
+                log.warn("Bulk order import stopped at malformed JSON after {} orders", results.size() + chunk.size(), e);
+                malformed = e;
+            }
+
+            if (!chunk.isEmpty()) {
+                results.addAll(importChunk(results.size(), chunk, conversionErrors));
+            }
+            if (malformed != null) {
+                results.add(new BulkOrderResultDTO(results.size(), null, ImportStatus.REJECTED,
+                        List.of("Malformed JSON, the remaining orders were not read: " + malformed.getOriginalMessage())));
+            }
+        }
+
+        Map<ImportStatus, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkOrderResultDTO::getStatus, Collectors.counting()));
+        log.info("Bulk order import finished: {} orders, {}", results.size(), counts);
+
+        return new BulkOrderImportResponseDTO(
+                results.size(),
+                counts.getOrDefault(ImportStatus.CREATED, 0L).intValue(),
+                counts.getOrDefault(ImportStatus.REJECTED, 0L).intValue(),
+                counts.getOrDefault(ImportStatus.FAILED, 0L).intValue(),
+                results);
+    }
+
+    private void readOrder(TreeNode node, List<SupplierOrderRequestDTO> chunk, List<String> conversionErrors) {
+        if (!node.isObject()) {
+            chunk.add(null);
+            conversionErrors.add("Order must be a JSON object");
+            return;
+        }
+        try {
+            chunk.add(objectMapper.treeToValue(node, SupplierOrderRequestDTO.class));
+            conversionErrors.add(null);
+        } catch (JsonProcessingException e) {
+            chunk.add(null);
+            conversionErrors.add(e.getOriginalMessage());
+        }
+    }
+
+    private List<BulkOrderResultDTO> importChunk(int offset,
+                                                 List<SupplierOrderRequestDTO> chunk,
+                                                 List<String> conversionErrors) {
+        List<List<String>> errors = IntStream.range(0, chunk.size()).parallel()
+                .mapToObj(i -> chunk.get(i) == null ? List.of(conversionErrors.get(i)) : validate(chunk.get(i)))
+                .collect(Collectors.toList());
+
+        BulkOrderResultDTO[] results = new BulkOrderResultDTO[chunk.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistChunk(offset, chunk, errors, results));
+        } catch (RuntimeException e) {
+            log.warn("Bulk order import chunk starting at {} failed", offset, e);
+            for (int i = 0; i < chunk.size(); i++) {
+                results[i] = errors.get(i).isEmpty()
+                        ? new BulkOrderResultDTO(offset + i, null, ImportStatus.FAILED, List.of(e.getMessage()))
+                        : new BulkOrderResultDTO(offset + i, null, ImportStatus.REJECTED, errors.get(i));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void persistChunk(int offset,
+                              List<SupplierOrderRequestDTO> chunk,
+                              List<List<String>> errors,
+                              BulkOrderResultDTO[] results) {
+        Map<Long, Supplier> suppliers = supplierCache.findAllById(chunk.stream()
+                .filter(Objects::nonNull)
+                .map(SupplierOrderRequestDTO::getSupplierId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        Map<Long, Product> products = productCache.findAllById(chunk.stream()
+                .filter(dto -> dto != null && dto.getItems() != null)
+                .flatMap(dto -> dto.getItems().stream())
+                .map(SupplierOrderItemRequestDTO::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        List<SupplierOrder> orders = new ArrayList<>();
+        List<Integer> orderPositions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            SupplierOrderRequestDTO dto = chunk.get(i);
+            List<String> orderErrors = new ArrayList<>(errors.get(i));
+
+            if (orderErrors.isEmpty()) {
+                if (!suppliers.containsKey(dto.getSupplierId())) {
+                    orderErrors.add("Supplier not found with ID: " + dto.getSupplierId());
+                }
+                dto.getItems().stream()
+                        .map(SupplierOrderItemRequestDTO::getProductId)
+                        .filter(productId -> !products.containsKey(productId))
+                        .distinct()
+                        .forEach(productId -> orderErrors.add("Product not found with ID: " + productId));
+            }
+
+            if (!orderErrors.isEmpty()) {
+                errors.set(i, orderErrors);
+                results[i] = new BulkOrderResultDTO(offset + i, null, ImportStatus.REJECTED, orderErrors);
+                continue;
+            }
+
+            orders.add(supplierOrderService.buildOrder(suppliers.get(dto.getSupplierId()), dto, products));
+            orderPositions.add(i);
+        }
+
+        supplierOrderRepository.saveAll(orders);
+        supplierOrderRepository.flush();
+
+        for (int j = 0; j < orders.size(); j++) {
+            int i = orderPositions.get(j);
+            results[i] = new BulkOrderResultDTO(offset + i, orders.get(j).getId(), ImportStatus.CREATED, List.of());
+        }
+    }
+
+    private List<String> validate(SupplierOrderRequestDTO dto) {
+        return validator.validate(dto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
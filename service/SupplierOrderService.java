@@ -1,19 +1,20 @@
 package com.tricol.Tricol.service;
 
+import com.tricol.Tricol.cache.SupplierCache;
 import com.tricol.Tricol.dto.request.create.SupplierOrderItemRequestDTO;
 import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
 import com.tricol.Tricol.dto.request.update.SupplierOrderUpdateDTO;
 import com.tricol.Tricol.dto.response.SupplierOrderResponseDTO;
+import com.tricol.Tricol.dto.response.SupplierOrderSummaryResponseDTO;
 import com.tricol.Tricol.enums.OrderStatus;
 import com.tricol.Tricol.exception.ResourceNotFoundException;
 import com.tricol.Tricol.mapper.SupplierOrderMapper;
+import com.tricol.Tricol.metrics.StockMetrics;
 import com.tricol.Tricol.model.Product;
 import com.tricol.Tricol.model.Supplier;
 import com.tricol.Tricol.model.SupplierOrder;
 import com.tricol.Tricol.model.SupplierOrderItem;
-import com.tricol.Tricol.repository.ProductRepository;
 import com.tricol.Tricol.repository.SupplierOrderRepository;
-import com.tricol.Tricol.repository.SupplierRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,41 +22,52 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class SupplierOrderService {
-    private final SupplierRepository supplierRepository;
+    private final SupplierCache supplierCache;
     private final SupplierOrderRepository supplierOrderRepository;
-    private final ProductRepository productRepository;
+    private final ProductService productService;
     private final SupplierOrderMapper supplierOrderMapper;
     private final StockService stockService;
+    private final StockMetrics stockMetrics;
 
 
     public SupplierOrderResponseDTO createOrder(SupplierOrderRequestDTO createDTO) {
 
-        Supplier supplier = supplierRepository
+        Supplier supplier = supplierCache
                 .findById(createDTO.getSupplierId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Supplier not found with ID: " + createDTO.getSupplierId()));
 
 
+        Map<Long, Product> products = productService.findEntitiesByIds(createDTO.getItems().stream()
+                .map(SupplierOrderItemRequestDTO::getProductId)
+                .toList());
+
+        SupplierOrder order = buildOrder(supplier, createDTO, products);
+
+        SupplierOrder saved = supplierOrderRepository.save(order);
+
+        return supplierOrderMapper.toDTO(saved);
+    }
+
+
+
+    public SupplierOrder buildOrder(Supplier supplier, SupplierOrderRequestDTO dto, Map<Long, Product> products) {
         SupplierOrder order = SupplierOrder.builder()
                 .supplier(supplier)
-                .orderDate(createDTO.getOrderDate())
+                .orderDate(dto.getOrderDate())
                 .status(OrderStatus.PENDING)
                 .items(new ArrayList<>())
                 .build();
 
-        for (SupplierOrderItemRequestDTO itemDTO : createDTO.getItems()) {
-            Product product = productRepository
-                    .findById(itemDTO.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Product not found with ID: " + itemDTO.getProductId()));
-
+        for (SupplierOrderItemRequestDTO itemDTO : dto.getItems()) {
             SupplierOrderItem item = SupplierOrderItem.builder()
-                    .product(product)
+                    .product(products.get(itemDTO.getProductId()))
                     .supplierOrder(order)
                     .quantity(itemDTO.getQuantity())
                     .unitPrice(itemDTO.getUnitPrice())
@@ -66,14 +78,10 @@ public class SupplierOrderService {
         }
 
         order.calculateTotalAmount();
-
-        SupplierOrder saved = supplierOrderRepository.save(order);
-
-        return supplierOrderMapper.toDTO(saved);
+        return order;
     }
 
 
-
     public SupplierOrderResponseDTO getOrderById(Long id) {
         SupplierOrder order = supplierOrderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order with id " + id + " does not exist"));
@@ -89,6 +97,16 @@ public class SupplierOrderService {
     }
 
 
+    public List<SupplierOrderSummaryResponseDTO> getOrderSummaries() {
+        return supplierOrderRepository.findOrderSummaries();
+    }
+
+
+    public List<SupplierOrderSummaryResponseDTO> getOrderSummariesBySupplier(Long supplierId) {
+        return supplierOrderRepository.findOrderSummariesBySupplierId(supplierId);
+    }
+
+
     public SupplierOrderResponseDTO updateOrder(Long id, SupplierOrderUpdateDTO dto) {
         SupplierOrder existing = supplierOrderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order with id " + id + " does not exist"));
@@ -103,10 +121,14 @@ public class SupplierOrderService {
 
         if (dto.getItems() != null && !dto.getItems().isEmpty()) {
 
+            Map<Long, Product> products = productService.findEntitiesByIds(dto.getItems().stream()
+                    .map(SupplierOrderItemRequestDTO::getProductId)
+                    .toList());
+
             existing.getItems().clear();
 
             for (SupplierOrderItemRequestDTO itemDTO : dto.getItems()) {
-                Product product = productRepository.findById(itemDTO.getProductId()).orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + itemDTO.getProductId()));
+                Product product = products.get(itemDTO.getProductId());
                 SupplierOrderItem item = SupplierOrderItem
                         .builder()
                         .supplierOrder(existing)
@@ -149,6 +171,10 @@ public class SupplierOrderService {
 
 
     public SupplierOrderResponseDTO receiveOrder(Long id) {
+        return stockMetrics.timeOrderReception(() -> receive(id));
+    }
+
+    private SupplierOrderResponseDTO receive(Long id) {
         SupplierOrder order = supplierOrderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order with id " + id + " does not exist"));
 
@@ -1,14 +1,17 @@
 package com.tricol.Tricol.service;
 
+import com.tricol.Tricol.cache.SupplierCache;
 import com.tricol.Tricol.dto.request.create.SupplierCreateRequestDTO;
 import com.tricol.Tricol.dto.request.update.SupplierUpdateRequestDTO;
 import com.tricol.Tricol.dto.response.SupplierResponseDTO;
+import com.tricol.Tricol.event.SupplierChangedEvent;
 import com.tricol.Tricol.exception.DuplicateResourceException;
 import com.tricol.Tricol.exception.ResourceNotFoundException;
 import com.tricol.Tricol.mapper.SupplierMapper;
 import com.tricol.Tricol.model.Supplier;
 import com.tricol.Tricol.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +26,8 @@ public class SupplierService {
 
     private final SupplierRepository supplierRepository;
     private final SupplierMapper supplierMapper;
+    private final SupplierCache supplierCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SupplierResponseDTO createSupplier(SupplierCreateRequestDTO dto) {
         if (supplierRepository.findByIce(dto.getIce()).isPresent()) {
@@ -40,7 +45,7 @@ public class SupplierService {
 
     @Transactional(readOnly = true)
     public SupplierResponseDTO findById(Long id) {
-        Supplier s = supplierRepository.findById(id)
+        Supplier s = supplierCache.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier with id " + id + " does not exist"));
         return supplierMapper.toDTO(s);
     }
@@ -55,7 +60,7 @@ public class SupplierService {
 
     @Transactional(readOnly = true)
     public SupplierResponseDTO findByIce(String ice) {
-        Supplier s = supplierRepository.findByIce(ice)
+        Supplier s = supplierCache.findByIce(ice)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier with ICE '" + ice + "' not found"));
         return supplierMapper.toDTO(s);
     }
@@ -75,6 +80,7 @@ public class SupplierService {
 
         try {
             Supplier saved = supplierRepository.save(existing);
+            eventPublisher.publishEvent(new SupplierChangedEvent(id));
             return supplierMapper.toDTO(saved);
         } catch (DataIntegrityViolationException e) {
             throw new DuplicateResourceException("Supplier with ICE " + dto.getIce() + " already exists", e);
@@ -85,6 +91,7 @@ public class SupplierService {
         Supplier existing = supplierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier with id " + id + " does not exist"));
         supplierRepository.delete(existing);
+        eventPublisher.publishEvent(new SupplierChangedEvent(id));
     }
 }
 
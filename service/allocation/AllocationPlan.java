@@ -0,0 +1,22 @@
+package com.tricol.Tricol.service.allocation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class AllocationPlan {
+    private List<ProductAllocation> allocations;
+
+    public boolean isFeasible() {
+        return allocations.stream().allMatch(ProductAllocation::isFulfilled);
+    }
+
+    public List<ProductAllocation> getShortfalls() {
+        return allocations.stream()
+                .filter(allocation -> !allocation.isFulfilled())
+                .toList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.tricol.Tricol.service.allocation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class AllocationRequest {
+    private Map<Long, Integer> quantities;
+    private String reference;
+    private String notes;
+}
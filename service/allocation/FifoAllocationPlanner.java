@@ -0,0 +1,46 @@
+package com.tricol.Tricol.service.allocation;
+
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.StockLot;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Component
+public class FifoAllocationPlanner {
+
+    public AllocationPlan plan(Map<Long, Integer> requested, Map<Long, Product> products, List<StockLot> openLots) {
+        Map<Long, List<StockLot>> lotsByProduct = new HashMap<>();
+        for (StockLot lot : openLots) {
+            lotsByProduct.computeIfAbsent(lot.getProduct().getId(), id -> new ArrayList<>()).add(lot);
+        }
+        return plan(requested, products, lotsByProduct);
+    }
+
+    public AllocationPlan plan(Map<Long, Integer> requested,
+                               Map<Long, Product> products,
+                               Map<Long, List<StockLot>> lotsByProduct) {
+        List<ProductAllocation> allocations = new ArrayList<>();
+        for (Long productId : new TreeSet<>(requested.keySet())) {
+            ProductAllocation allocation = new ProductAllocation(products.get(productId), requested.get(productId));
+
+            int remaining = allocation.getRequestedQuantity();
+            for (StockLot lot : lotsByProduct.getOrDefault(productId, List.of())) {
+                if (remaining <= 0) break;
+                if (lot.getRemainingQuantity() <= 0) continue;
+
+                int quantityToTake = Math.min(remaining, lot.getRemainingQuantity());
+                allocation.getLots().add(new LotAllocation(lot, quantityToTake));
+                remaining -= quantityToTake;
+            }
+
+            allocations.add(allocation);
+        }
+
+        return new AllocationPlan(allocations);
+    }
+}
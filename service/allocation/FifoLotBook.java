@@ -0,0 +1,209 @@
+package com.tricol.Tricol.service.allocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tricol.Tricol.metrics.RequestSqlStats;
+import com.tricol.Tricol.model.StockBalance;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.repository.StockLotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+@Component
+@Slf4j
+public class FifoLotBook {
+
+    private static final String CONSUME_LOT_SQL =
+            "UPDATE stock_lot SET remaining_quantity = remaining_quantity - ? WHERE id = ? AND remaining_quantity >= ?";
+
+    private final StockLotRepository stockLotRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache<Long, ProductLots> books;
+
+    public FifoLotBook(StockLotRepository stockLotRepository,
+                       JdbcTemplate jdbcTemplate,
+                       @Value("${tricol.fifo.book.max-size:10000}") long maxSize) {
+        this.stockLotRepository = stockLotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.books = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Map<Long, List<StockLot>> checkout(Map<Long, StockBalance> lockedBalances) {
+        TransactionBooks transactionBooks = transactionBooks();
+
+        Map<Long, List<StockLot>> lots = new HashMap<>();
+        Set<Long> toWarm = new TreeSet<>();
+        for (Map.Entry<Long, StockBalance> entry : lockedBalances.entrySet()) {
+            Long productId = entry.getKey();
+            List<StockLot> working = transactionBooks.lots.get(productId);
+            if (working != null) {
+                lots.put(productId, working);
+                continue;
+            }
+
+            ProductLots book = books.getIfPresent(productId);
+            if (book != null && book.matches(entry.getValue())) {
+                working = book.copyLots();
+                transactionBooks.track(productId, working, entry.getValue());
+                lots.put(productId, working);
+            } else {
+                toWarm.add(productId);
+            }
+        }
+
+        if (!toWarm.isEmpty()) {
+            log.debug("Warming FIFO lot book for products {}", toWarm);
+            Map<Long, List<StockLot>> warmed = new HashMap<>();
+            toWarm.forEach(productId -> warmed.put(productId, new ArrayList<>()));
+            for (StockLot lot : stockLotRepository.findAvailableLotsByProductIds(toWarm)) {
+                warmed.get(lot.getProduct().getId()).add(copyOf(lot));
+            }
+            warmed.forEach((productId, working) -> {
+                transactionBooks.track(productId, working, lockedBalances.get(productId));
+                lots.put(productId, working);
+            });
+        }
+
+        return lots;
+    }
+
+    public void writeThrough(List<LotAllocation> allocations) {
+        if (allocations.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int[][] counts = jdbcTemplate.batchUpdate(CONSUME_LOT_SQL, allocations, allocations.size(),
+                (statement, allocation) -> {
+                    statement.setInt(1, allocation.getQuantity());
+                    statement.setLong(2, allocation.getLot().getId());
+                    statement.setInt(3, allocation.getQuantity());
+                });
+        RequestSqlStats.jdbcStatementExecuted(System.nanoTime() - start);
+
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    // Only the products drawn from by this batch can hold a stale book
+                    evict(productsOf(allocations));
+                    throw new IllegalStateException("Stock lots changed concurrently, please retry the operation");
+                }
+            }
+        }
+    }
+
+    public void evict(Collection<Long> productIds) {
+        books.invalidateAll(productIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionBooks transactionBooks = transactionBooks();
+            transactionBooks.evicted.addAll(productIds);
+            productIds.forEach(transactionBooks.lots::remove);
+        }
+    }
+
+    public void evictAll() {
+        books.invalidateAll();
+    }
+
+    private Set<Long> productsOf(List<LotAllocation> allocations) {
+        Set<Long> lotIds = new HashSet<>();
+        allocations.forEach(allocation -> lotIds.add(allocation.getLot().getId()));
+
+        Set<Long> productIds = new HashSet<>();
+        transactionBooks().lots.forEach((productId, working) -> {
+            if (working.stream().anyMatch(lot -> lotIds.contains(lot.getId()))) {
+                productIds.add(productId);
+            }
+        });
+        return productIds;
+    }
+
+    private TransactionBooks transactionBooks() {
+        TransactionBooks transactionBooks = (TransactionBooks) TransactionSynchronizationManager.getResource(this);
+        if (transactionBooks == null) {
+            transactionBooks = new TransactionBooks();
+            TransactionSynchronizationManager.bindResource(this, transactionBooks);
+            TransactionSynchronizationManager.registerSynchronization(transactionBooks);
+        }
+        return transactionBooks;
+    }
+
+    private static StockLot copyOf(StockLot lot) {
+        return StockLot.builder()
+                .id(lot.getId())
+                .lotNumber(lot.getLotNumber())
+                .initialQuantity(lot.getInitialQuantity())
+                .remainingQuantity(lot.getRemainingQuantity())
+                .unitPrice(lot.getUnitPrice())
+                .entryDate(lot.getEntryDate())
+                .build();
+    }
+
+    private class TransactionBooks implements TransactionSynchronization {
+        private final Map<Long, List<StockLot>> lots = new HashMap<>();
+        private final Map<Long, StockBalance> balances = new HashMap<>();
+        private final Set<Long> evicted = new HashSet<>();
+
+        void track(Long productId, List<StockLot> working, StockBalance balance) {
+            lots.put(productId, working);
+            balances.put(productId, balance);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            books.invalidateAll(lots.keySet());
+        }
+
+        @Override
+        public void afterCommit() {
+            lots.forEach((productId, working) -> {
+                if (!evicted.contains(productId)) {
+                    books.put(productId, new ProductLots(working, balances.get(productId)));
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(FifoLotBook.this);
+            if (status != STATUS_COMMITTED) {
+                books.invalidateAll(lots.keySet());
+                books.invalidateAll(evicted);
+            }
+        }
+    }
+
+    private static class ProductLots {
+        private final List<StockLot> lots;
+        private final Long version;
+
+        ProductLots(List<StockLot> working, StockBalance balance) {
+            this.lots = working.stream()
+                    .filter(lot -> lot.getRemainingQuantity() > 0)
+                    .map(FifoLotBook::copyOf)
+                    .toList();
+            this.version = balance.getVersion();
+        }
+
+        // Every write to the balance row bumps its version, so a book is never reused after a
+        // change that happens to leave quantity and value where they were
+        boolean matches(StockBalance balance) {
+            return version != null && version.equals(balance.getVersion());
+        }
+
+        List<StockLot> copyLots() {
+            List<StockLot> copies = new ArrayList<>(lots.size());
+            lots.forEach(lot -> copies.add(copyOf(lot)));
+            return copies;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.tricol.Tricol.service.allocation;
+
+import com.tricol.Tricol.model.StockLot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class LotAllocation {
+    private StockLot lot;
+    private int quantity;
+
+    public BigDecimal getCost() {
+        return lot.getUnitPrice().multiply(BigDecimal.valueOf(quantity));
+    }
+}
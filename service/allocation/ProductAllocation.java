@@ -0,0 +1,33 @@
+package com.tricol.Tricol.service.allocation;
+
+import com.tricol.Tricol.model.Product;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProductAllocation {
+    private final Product product;
+    private final int requestedQuantity;
+    private final List<LotAllocation> lots = new ArrayList<>();
+
+    public int getAllocatedQuantity() {
+        return lots.stream().mapToInt(LotAllocation::getQuantity).sum();
+    }
+
+    public int getShortfall() {
+        return requestedQuantity - getAllocatedQuantity();
+    }
+
+    public BigDecimal getCost() {
+        return lots.stream()
+                .map(LotAllocation::getCost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public boolean isFulfilled() {
+        return getShortfall() == 0;
+    }
+}
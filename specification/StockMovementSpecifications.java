@@ -2,12 +2,41 @@ package com.tricol.Tricol.specification;
 
 import com.tricol.Tricol.enums.MovementType;
 import com.tricol.Tricol.model.StockMovement;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 
 public class StockMovementSpecifications {
 
+    public static Specification<StockMovement> matching(Long productId,
+                                                        String reference,
+                                                        MovementType type,
+                                                        String lotNumber,
+                                                        LocalDateTime startDate,
+                                                        LocalDateTime endDate) {
+        return hasProductId(productId)
+                .and(hasProductReference(reference))
+                .and(hasMovementType(type))
+                .and(hasLotNumber(lotNumber))
+                .and(movementDateBetween(startDate, endDate));
+    }
+
+    public static Specification<StockMovement> after(MovementCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.get("movementDate"), cursor.getMovementDate()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("movementDate"), cursor.getMovementDate()),
+                            criteriaBuilder.lessThan(root.get("id"), cursor.getId())));
+        };
+    }
+
     public static Specification<StockMovement> hasProductId(Long productId) {
         return (root, query, criteriaBuilder) -> {
             if (productId == null) {
@@ -22,7 +51,7 @@ public class StockMovementSpecifications {
             if (reference == null || reference.trim().isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.equal(root.get("product").get("reference"), reference);
+            return criteriaBuilder.equal(join(root, "product").get("reference"), reference);
         };
     }
 
@@ -40,7 +69,7 @@ public class StockMovementSpecifications {
             if (lotNumber == null || lotNumber.trim().isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.equal(root.get("stockLot").get("lotNumber"), lotNumber);
+            return criteriaBuilder.equal(join(root, "stockLot").get("lotNumber"), lotNumber);
         };
     }
 
@@ -58,4 +87,13 @@ public class StockMovementSpecifications {
             return criteriaBuilder.lessThanOrEqualTo(root.get("movementDate"), endDate);
         };
     }
+
+    // Filters on the joins the query already declared: navigating the path again would add a second
+    // join, and an implicit join to the lot is an inner join where the query left-joins it
+    private static Join<StockMovement, ?> join(Root<StockMovement> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals(attribute))
+                .findFirst()
+                .orElseGet(() -> root.join(attribute, JoinType.LEFT));
+    }
 }
\ No newline at end of file
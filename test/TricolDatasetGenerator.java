@@ -0,0 +1,30 @@
+package com.tricol.Tricol;
+
+import com.tricol.Tricol.dataset.DatasetGenerator;
+import com.tricol.Tricol.service.StockService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class TricolDatasetGenerator {
+
+	public static void main(String[] args) {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TricolApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args)) {
+			Environment environment = context.getEnvironment();
+			new DatasetGenerator(context.getBean(JdbcTemplate.class), environment, baseTime(environment)).generate();
+			context.getBean(StockService.class).rebuildStockBalances();
+		}
+	}
+
+	private static LocalDateTime baseTime(Environment environment) {
+		String baseTime = environment.getProperty("dataset.base-time");
+		return baseTime == null ? LocalDate.now().atStartOfDay() : LocalDateTime.parse(baseTime);
+	}
+}
@@ -0,0 +1,96 @@
+package com.tricol.Tricol.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.tricol.Tricol.dto.request.create.ProductCreateRequestDTO;
+import com.tricol.Tricol.dto.request.update.ProductUpdateRequestDTO;
+import com.tricol.Tricol.model.Product;
+import com.tricol.Tricol.model.Supplier;
+import com.tricol.Tricol.repository.ProductRepository;
+import com.tricol.Tricol.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tricol-l2-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "tricol.jpa.second-level-cache.max-size=500",
+        "tricol.jpa.second-level-cache.query-results.max-size=50",
+        "tricol.jpa.second-level-cache.ttl=5m"
+})
+class HibernateCacheConfigTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void regionsAreBoundedAndExpire() {
+        CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory().getCache().getRegionFactory())
+                .getCacheManager();
+
+        for (String region : List.of(Product.class.getName(), Supplier.class.getName())) {
+            assertBounded(cacheManager, region, 500);
+        }
+        assertBounded(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 50);
+
+        CaffeineConfiguration<?, ?> timestamps = cacheManager
+                .getCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)
+                .getConfiguration(CaffeineConfiguration.class);
+        assertThat(timestamps.getExpireAfterWrite()).isEmpty();
+    }
+
+    @Test
+    void productUpdateInvalidatesCachedReferenceQueries() {
+        Long id = productService.createProduct(new ProductCreateRequestDTO(
+                "L2-OLD", "Cached product", "Query cache test product", new BigDecimal("10.00"),
+                "Cache", 5, "pcs")).getId();
+        Statistics statistics = sessionFactory().getStatistics();
+
+        assertThat(productRepository.findByReference("L2-OLD")).isPresent();
+        long hits = statistics.getQueryCacheHitCount();
+        assertThat(productRepository.findByReference("L2-OLD")).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+
+        // The update looks the new reference up first, so its empty result is cached as well
+        productService.updateProduct(id, new ProductUpdateRequestDTO(
+                "L2-NEW", "Renamed product", "Query cache test product", new BigDecimal("10.00"),
+                "Cache", 5, "pcs"));
+
+        assertThat(productRepository.findByReference("L2-OLD")).isEmpty();
+        assertThat(productRepository.findByReference("L2-NEW"))
+                .hasValueSatisfying(product -> assertThat(product.getName()).isEqualTo("Renamed product"));
+    }
+
+    private void assertBounded(CacheManager cacheManager, String region, long maxSize) {
+        CaffeineConfiguration<?, ?> configuration = cacheManager.getCache(region)
+                .getConfiguration(CaffeineConfiguration.class);
+        assertThat(configuration.getMaximumSize()).hasValue(maxSize);
+        assertThat(configuration.getExpireAfterWrite()).hasValue(Duration.ofMinutes(5).toNanos());
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class).unwrap(SessionFactoryImplementor.class);
+    }
+}
@@ -0,0 +1,172 @@
+package com.tricol.Tricol.controller;
+
+import com.tricol.Tricol.dto.request.create.ProductCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.StockOutboundItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.StockOutboundRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
+import com.tricol.Tricol.enums.OutboundReason;
+import com.tricol.Tricol.metrics.RequestSqlStats;
+import com.tricol.Tricol.service.ProductService;
+import com.tricol.Tricol.service.StockOutboundService;
+import com.tricol.Tricol.service.SupplierOrderService;
+import com.tricol.Tricol.service.SupplierService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tricol.Tricol.metrics.SqlStatementMatchers.statementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tricol-statements;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class EndpointStatementCountTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final int LARGE_ORDER_LINES = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierOrderService supplierOrderService;
+
+    @Autowired
+    private StockOutboundService stockOutboundService;
+
+    private Long supplierId;
+    private Long productId;
+    private Long otherProductId;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        int n = SEQUENCE.incrementAndGet();
+        supplierId = supplierService.createSupplier(new SupplierCreateRequestDTO(
+                "Supplier " + n, null, null, null, null, null, "ICE-COUNT-" + n)).getId();
+        productId = createProduct("COUNT-A-" + n);
+        otherProductId = createProduct("COUNT-B-" + n);
+        orderId = createOrder();
+        supplierOrderService.validateOrder(orderId);
+        supplierOrderService.receiveOrder(orderId);
+    }
+
+    @Test
+    void readEndpointsRunASingleQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/stock")).andExpect(status().isOk()).andExpect(statementCount(1));
+        mockMvc.perform(get("/api/v1/stock/product/{id}", productId)).andExpect(status().isOk()).andExpect(statementCount(1));
+        mockMvc.perform(get("/api/v1/stock/movements")).andExpect(status().isOk()).andExpect(statementCount(1));
+        mockMvc.perform(get("/api/v1/stock/valuation")).andExpect(status().isOk()).andExpect(statementCount(1));
+        mockMvc.perform(get("/api/v1/orders").param("view", "summary")).andExpect(status().isOk()).andExpect(statementCount(1));
+        mockMvc.perform(get("/api/v1/stock/alerts")).andExpect(status().isOk()).andExpect(statementCount(0));
+    }
+
+    @Test
+    void cachedLookupsSkipTheDatabase() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", productId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/products/{id}", productId)).andExpect(status().isOk()).andExpect(statementCount(0));
+
+        mockMvc.perform(get("/api/v1/suppliers/{id}", supplierId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/suppliers/{id}", supplierId)).andExpect(status().isOk()).andExpect(statementCount(0));
+    }
+
+    @Test
+    void detailEndpointsFetchTheirItemsInOneExtraQuery() throws Exception {
+        Long outboundId = createOutbound();
+
+        mockMvc.perform(get("/api/v1/orders/{id}", orderId)).andExpect(status().isOk()).andExpect(statementCount(2));
+        mockMvc.perform(get("/api/v1/stock-outbound/{id}", outboundId)).andExpect(status().isOk()).andExpect(statementCount(2));
+    }
+
+    @Test
+    void stockWritesStayWithinTheirStatementCount() throws Exception {
+        Long secondOrderId = createOrder();
+        supplierOrderService.validateOrder(secondOrderId);
+        // Lot numbers come from the blocks the first receipt reserved, so no counter is read
+        mockMvc.perform(put("/api/v1/orders/{id}/receive", secondOrderId))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(7));
+
+        // Includes the lot consumption batch written through JdbcTemplate
+        Long outboundId = createOutbound();
+        mockMvc.perform(put("/api/v1/stock-outbound/{id}/validate", outboundId))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(8));
+    }
+
+    @Test
+    void receivingALargeOrderBatchesItsInserts() throws Exception {
+        List<SupplierOrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < LARGE_ORDER_LINES; i++) {
+            Long lineProductId = createProduct("COUNT-BULK-" + SEQUENCE.get() + "-" + i);
+            items.add(new SupplierOrderItemRequestDTO(lineProductId, 10, new BigDecimal("1.00")));
+        }
+        Long firstOrderId = createOrder(items);
+        supplierOrderService.validateOrder(firstOrderId);
+        supplierOrderService.receiveOrder(firstOrderId);
+
+        // The order with its lines, the balance locks, one id fetch each for lots and movements, one
+        // batch each for lots, movements and balances, and the order update: none of it grows with the lines
+        Long secondOrderId = createOrder(items);
+        supplierOrderService.validateOrder(secondOrderId);
+        mockMvc.perform(put("/api/v1/orders/{id}/receive", secondOrderId))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(9));
+    }
+
+    @Test
+    void serviceCallsCountTheSameStatementsOutsideARequest() {
+        Long outboundId = createOutbound();
+
+        RequestSqlStats stats = RequestSqlStats.capture(() -> stockOutboundService.validateOutbound(outboundId));
+
+        assertThat(stats.getStatements()).isEqualTo(8);
+    }
+
+    private Long createProduct(String reference) {
+        return productService.createProduct(new ProductCreateRequestDTO(
+                reference, "Counted product", "Statement count test product", new BigDecimal("2.50"),
+                "Counting", 5, "pcs")).getId();
+    }
+
+    private Long createOrder() {
+        return createOrder(List.of(
+                new SupplierOrderItemRequestDTO(productId, 10, new BigDecimal("1.00")),
+                new SupplierOrderItemRequestDTO(otherProductId, 20, new BigDecimal("2.00"))));
+    }
+
+    private Long createOrder(List<SupplierOrderItemRequestDTO> items) {
+        return supplierOrderService.createOrder(new SupplierOrderRequestDTO(supplierId, LocalDate.now(), items)).getId();
+    }
+
+    private Long createOutbound() {
+        return stockOutboundService.createOutbound(new StockOutboundRequestDTO(
+                OutboundReason.PRODUCTION, "Counting workshop", null, List.of(
+                        new StockOutboundItemRequestDTO(productId, 5, null),
+                        new StockOutboundItemRequestDTO(otherProductId, 5, null)))).getId();
+    }
+}
@@ -0,0 +1,414 @@
+package com.tricol.Tricol.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class DatasetGenerator {
+
+    private static final String[] CATEGORIES = {
+            "Tissus", "Fils", "Boutons", "Fermetures", "Etiquettes", "Emballages", "Teintures", "Accessoires",
+            "Consommables", "Pieces machines", "Aiguilles", "Elastiques", "Doublures", "Entretien", "Securite"
+    };
+    private static final String[] CITIES = {
+            "Casablanca", "Tanger", "Rabat", "Fes", "Marrakech", "Agadir", "Meknes", "Oujda", "Kenitra", "Tetouan"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int products;
+    private final int suppliers;
+    private final int lots;
+    private final long movements;
+    private final int historyDays;
+    private final int maxLinesPerOrder;
+    private final double paretoAlpha;
+    private final int batchSize;
+    private final long seed;
+    private final LocalDateTime now;
+
+    private long productBase;
+    private long supplierBase;
+    private long orderBase;
+    private long orderItemBase;
+    private long lotBase;
+    private long movementBase;
+
+    private long[] productPrices;
+
+    private int[] lotProduct;
+    private int[] lotOrder;
+    private int[] lotDay;
+    private int[] lotQuantity;
+    private int[] lotConsumed;
+    private long[] lotPrice;
+    private int[] lotsByProduct;
+    private int[] productLotStart;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, Environment environment, LocalDateTime baseTime) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.now = baseTime.withNano(0);
+        this.products = environment.getProperty("dataset.products", Integer.class, 50_000);
+        this.suppliers = environment.getProperty("dataset.suppliers", Integer.class, 2_000);
+        this.lots = environment.getProperty("dataset.lots", Integer.class, 500_000);
+        this.movements = environment.getProperty("dataset.movements", Long.class, 10_000_000L);
+        this.historyDays = environment.getProperty("dataset.history-days", Integer.class, 730);
+        this.maxLinesPerOrder = environment.getProperty("dataset.max-lines-per-order", Integer.class, 8);
+        this.paretoAlpha = environment.getProperty("dataset.pareto-alpha", Double.class, 1.16);
+        this.batchSize = environment.getProperty("dataset.batch-size", Integer.class, 5_000);
+        this.seed = environment.getProperty("dataset.seed", Long.class, 42L);
+    }
+
+    public void generate() {
+        long start = System.currentTimeMillis();
+        log.info("Generating dataset: {} products, {} suppliers, {} lots, {} movements, seed {}, base time {}",
+                products, suppliers, lots, movements, seed, now);
+
+        productBase = nextId("product");
+        supplierBase = nextId("supplier");
+        orderBase = nextId("supplier_order");
+        orderItemBase = nextId("supplier_order_item");
+        lotBase = nextId("stock_lot");
+        movementBase = nextId("stock_movement");
+
+        insertSuppliers();
+        insertProducts();
+        planLots();
+        planConsumption();
+        insertOrders();
+        insertLots();
+        insertMovements();
+        resetSequences();
+
+        log.info("Dataset generated in {} s", (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private void insertSuppliers() {
+        Random random = new Random(seed);
+        batchInsert("INSERT INTO supplier (id, company_name, address, contact_person, email, phone, city, ice, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                suppliers,
+                (ps, i) -> {
+                    long id = supplierBase + i;
+                    ps.setLong(1, id);
+                    ps.setString(2, "Fournisseur " + id);
+                    ps.setString(3, (1 + random.nextInt(300)) + " Zone industrielle");
+                    ps.setString(4, "Contact " + id);
+                    ps.setString(5, "contact" + id + "@fournisseur.ma");
+                    ps.setString(6, String.format("+2125%08d", random.nextInt(100_000_000)));
+                    ps.setString(7, CITIES[random.nextInt(CITIES.length)]);
+                    ps.setString(8, String.format("GEN%012d", id));
+                    ps.setTimestamp(9, Timestamp.valueOf(now));
+                    ps.setTimestamp(10, Timestamp.valueOf(now));
+                });
+    }
+
+    private void insertProducts() {
+        Random random = new Random(seed + 1);
+        productPrices = new long[products];
+        batchInsert("INSERT INTO product (id, reference, name, description, unit_price, category, reorder_point, unit, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                products,
+                (ps, i) -> {
+                    long id = productBase + i;
+                    productPrices[i] = 50 + (long) (Math.exp(random.nextGaussian() * 1.2 + 7));
+                    ps.setLong(1, id);
+                    ps.setString(2, String.format("GEN-%07d", id));
+                    ps.setString(3, "Article " + id);
+                    ps.setString(4, "Article genere pour les tests de performance");
+                    ps.setBigDecimal(5, BigDecimal.valueOf(productPrices[i], 2));
+                    ps.setString(6, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                    ps.setInt(7, 10 * random.nextInt(20));
+                    ps.setString(8, random.nextInt(4) == 0 ? "kg" : "pcs");
+                    ps.setTimestamp(9, Timestamp.valueOf(now));
+                    ps.setTimestamp(10, Timestamp.valueOf(now));
+                });
+    }
+
+    private void planLots() {
+        Random random = new Random(seed + 2);
+        double[] popularity = paretoPopularity(random);
+
+        lotProduct = new int[lots];
+        lotOrder = new int[lots];
+        lotDay = new int[lots];
+        lotQuantity = new int[lots];
+        lotPrice = new long[lots];
+
+        int order = -1;
+        int linesLeft = 0;
+        int orderDay = 0;
+        for (int i = 0; i < lots; i++) {
+            if (linesLeft == 0) {
+                order++;
+                linesLeft = 1 + random.nextInt(maxLinesPerOrder);
+                orderDay = (int) ((long) i * historyDays / lots);
+            }
+            int product = Arrays.binarySearch(popularity, random.nextDouble());
+            product = Math.min(products - 1, product < 0 ? -product - 1 : product);
+
+            lotProduct[i] = product;
+            lotOrder[i] = order;
+            lotDay[i] = orderDay;
+            lotQuantity[i] = 10 * (1 + random.nextInt(50));
+            lotPrice[i] = Math.max(1, Math.round(productPrices[product] * (0.85 + random.nextDouble() * 0.3)));
+            linesLeft--;
+        }
+
+        productLotStart = new int[products + 1];
+        for (int i = 0; i < lots; i++) {
+            productLotStart[lotProduct[i] + 1]++;
+        }
+        for (int p = 0; p < products; p++) {
+            productLotStart[p + 1] += productLotStart[p];
+        }
+        int[] cursor = Arrays.copyOf(productLotStart, products);
+        lotsByProduct = new int[lots];
+        for (int i = 0; i < lots; i++) {
+            lotsByProduct[cursor[lotProduct[i]]++] = i;
+        }
+    }
+
+    private double[] paretoPopularity(Random random) {
+        int[] rank = new int[products];
+        for (int i = 0; i < products; i++) {
+            rank[i] = i;
+        }
+        for (int i = products - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rank[i];
+            rank[i] = rank[j];
+            rank[j] = swap;
+        }
+
+        double[] cumulative = new double[products];
+        double total = 0;
+        for (int i = 0; i < products; i++) {
+            total += 1.0 / Math.pow(rank[i] + 1, paretoAlpha);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < products; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private void planConsumption() {
+        Random random = new Random(seed + 3);
+        lotConsumed = new int[lots];
+
+        for (int p = 0; p < products; p++) {
+            int first = productLotStart[p];
+            int last = productLotStart[p + 1];
+            if (first == last) {
+                continue;
+            }
+            int openLots = Math.min(last - first, 1 + random.nextInt(4));
+            int partial = last - openLots;
+            for (int k = first; k < partial; k++) {
+                int lot = lotsByProduct[k];
+                lotConsumed[lot] = lotQuantity[lot];
+            }
+            int lot = lotsByProduct[partial];
+            lotConsumed[lot] = random.nextInt(lotQuantity[lot]);
+        }
+    }
+
+    private void insertOrders() {
+        int orders = lotOrder[lots - 1] + 1;
+        Random random = new Random(seed + 4);
+
+        long[] orderTotals = new long[orders];
+        int[] orderFirstLot = new int[orders];
+        Arrays.fill(orderFirstLot, -1);
+        for (int i = 0; i < lots; i++) {
+            orderTotals[lotOrder[i]] += lotPrice[i] * lotQuantity[i];
+            if (orderFirstLot[lotOrder[i]] < 0) {
+                orderFirstLot[lotOrder[i]] = i;
+            }
+        }
+
+        batchInsert("INSERT INTO supplier_order (id, supplier_id, order_date, total_amount, status) VALUES (?, ?, ?, ?, ?)",
+                orders,
+                (ps, i) -> {
+                    ps.setLong(1, orderBase + i);
+                    ps.setLong(2, supplierBase + random.nextInt(suppliers));
+                    ps.setDate(3, Date.valueOf(day(lotDay[orderFirstLot[i]])));
+                    ps.setBigDecimal(4, BigDecimal.valueOf(orderTotals[i], 2));
+                    ps.setString(5, "DELIVERED");
+                });
+
+        batchInsert("INSERT INTO supplier_order_item (id, order_id, product_id, quantity, unit_price, total_amount) VALUES (?, ?, ?, ?, ?, ?)",
+                lots,
+                (ps, i) -> {
+                    ps.setLong(1, orderItemBase + i);
+                    ps.setLong(2, orderBase + lotOrder[i]);
+                    ps.setLong(3, productBase + lotProduct[i]);
+                    ps.setInt(4, lotQuantity[i]);
+                    ps.setBigDecimal(5, BigDecimal.valueOf(lotPrice[i], 2));
+                    ps.setBigDecimal(6, BigDecimal.valueOf(lotPrice[i] * lotQuantity[i], 2));
+                });
+    }
+
+    private void insertLots() {
+        batchInsert("INSERT INTO stock_lot (id, lot_number, product_id, supplier_order_id, initial_quantity, remaining_quantity, " +
+                        "unit_price, entry_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                lots,
+                (ps, i) -> {
+                    long id = lotBase + i;
+                    ps.setLong(1, id);
+                    ps.setString(2, String.format("LOT-GEN-%09d", id));
+                    ps.setLong(3, productBase + lotProduct[i]);
+                    ps.setLong(4, orderBase + lotOrder[i]);
+                    ps.setInt(5, lotQuantity[i]);
+                    ps.setInt(6, lotQuantity[i] - lotConsumed[i]);
+                    ps.setBigDecimal(7, BigDecimal.valueOf(lotPrice[i], 2));
+                    ps.setDate(8, Date.valueOf(day(lotDay[i])));
+                    ps.setTimestamp(9, Timestamp.valueOf(day(lotDay[i]).atStartOfDay()));
+                });
+    }
+
+    private void insertMovements() {
+        long consumedUnits = 0;
+        for (int i = 0; i < lots; i++) {
+            consumedUnits += lotConsumed[i];
+        }
+        double movementsPerUnit = consumedUnits == 0 ? 0 : Math.max(0, movements - lots) / (double) consumedUnits;
+
+        Random random = new Random(seed + 5);
+        MovementBatch batch = new MovementBatch();
+
+        for (int p = 0; p < products; p++) {
+            for (int k = productLotStart[p]; k < productLotStart[p + 1]; k++) {
+                int lot = lotsByProduct[k];
+                LocalDateTime entry = day(lotDay[lot]).atTime(8, 0).plusMinutes(random.nextInt(600));
+                batch.add(lot, "ENTREE", lotQuantity[lot], entry, orderBase + lotOrder[lot],
+                        "Réception commande #" + (orderBase + lotOrder[lot]));
+
+                if (lotConsumed[lot] == 0) {
+                    continue;
+                }
+
+                LocalDateTime until = k + 1 < productLotStart[p + 1]
+                        ? day(lotDay[lotsByProduct[k + 1]]).atTime(18, 0)
+                        : now;
+                long span = Math.max(60, Duration.between(entry, until).toSeconds());
+
+                int count = (int) Math.max(1, Math.min(lotConsumed[lot], Math.round(lotConsumed[lot] * movementsPerUnit)));
+                int remaining = lotConsumed[lot];
+                long[] offsets = new long[count];
+                for (int m = 0; m < count; m++) {
+                    offsets[m] = (long) (random.nextDouble() * span);
+                }
+                Arrays.sort(offsets);
+                for (int m = 0; m < count; m++) {
+                    int quantity = m == count - 1 ? remaining : Math.max(1, remaining / (count - m));
+                    remaining -= quantity;
+                    batch.add(lot, "SORTIE", quantity, entry.plusSeconds(offsets[m]), null,
+                            "Stock outbound #GEN-" + random.nextInt(1_000_000));
+                }
+            }
+        }
+        batch.flush();
+        log.info("Inserted {} stock movements", batch.written);
+    }
+
+    private void resetSequences() {
+        for (String table : List.of("product", "supplier")) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+        }
+        // Pooled sequence generators hand out the block below the value they read
+        for (String table : List.of("supplier_order", "supplier_order_item", "stock_lot", "stock_movement")) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (nextId(table) + 49));
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private LocalDate day(int offset) {
+        return now.toLocalDate().minusDays(historyDays - offset);
+    }
+
+    private void batchInsert(String sql, int rows, RowWriter writer) {
+        for (int from = 0; from < rows; from += batchSize) {
+            int offset = from;
+            int size = Math.min(batchSize, rows - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        log.info("Inserted {} rows: {}", rows, sql.substring(0, sql.indexOf('(')).trim());
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int row) throws SQLException;
+    }
+
+    private class MovementBatch {
+        private static final String SQL = "INSERT INTO stock_movement (id, product_id, stock_lot_id, movement_type, quantity, " +
+                "unit_price, supplier_order_id, reference, notes, movement_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        private static final int[] TYPES = {
+                Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.INTEGER,
+                Types.NUMERIC, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+        };
+
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+        private long written;
+
+        void add(int lot, String type, int quantity, LocalDateTime date, Long supplierOrderId, String reference) {
+            long lotId = lotBase + lot;
+            rows.add(new Object[]{
+                    movementBase + written + rows.size(),
+                    productBase + lotProduct[lot],
+                    lotId,
+                    type,
+                    quantity,
+                    BigDecimal.valueOf(lotPrice[lot], 2),
+                    supplierOrderId,
+                    reference,
+                    ("ENTREE".equals(type) ? "Entrée de stock" : "PRODUCTION") + " - Lot: " + String.format("LOT-GEN-%09d", lotId),
+                    Timestamp.valueOf(date)
+            });
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(SQL, rows, TYPES);
+            written += rows.size();
+            rows.clear();
+        }
+    }
+}
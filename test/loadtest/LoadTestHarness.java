@@ -0,0 +1,272 @@
+package com.tricol.Tricol.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tricol.Tricol.TricolApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Slf4j
+public class LoadTestHarness {
+
+    private static final String CREATE_ORDER = "POST /orders";
+    private static final String VALIDATE_ORDER = "PUT /orders/{id}/validate";
+    private static final String RECEIVE_ORDER = "PUT /orders/{id}/receive";
+    private static final String CREATE_OUTBOUND = "POST /stock-outbound";
+    private static final String VALIDATE_OUTBOUND = "PUT /stock-outbound/{id}/validate";
+    private static final String STOCK_SUMMARY = "GET /stock";
+    private static final String MOVEMENT_SEARCH = "GET /stock/movements/search";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final BlockingQueue<Long> pendingOrders = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Long> draftOutbounds = new LinkedBlockingQueue<>();
+    private final List<Long> productIds = new CopyOnWriteArrayList<>();
+    private final List<Long> supplierIds = new CopyOnWriteArrayList<>();
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration requestTimeout;
+    private final int productCount;
+    private final int supplierCount;
+    private final long seed;
+    private final boolean virtualClients;
+    private final String threadMode;
+
+    private volatile boolean recording;
+
+    public LoadTestHarness(Environment environment) {
+        this.baseUrl = "http://localhost:" + environment.getProperty("local.server.port") + "/api/v1";
+        this.concurrency = environment.getProperty("loadtest.concurrency", Integer.class, 32);
+        this.warmup = Duration.ofSeconds(environment.getProperty("loadtest.warmup-seconds", Integer.class, 10));
+        this.duration = Duration.ofSeconds(environment.getProperty("loadtest.duration-seconds", Integer.class, 60));
+        this.requestTimeout = Duration.ofSeconds(environment.getProperty("loadtest.request-timeout-seconds", Integer.class, 30));
+        this.productCount = environment.getProperty("loadtest.products", Integer.class, 500);
+        this.supplierCount = environment.getProperty("loadtest.suppliers", Integer.class, 50);
+        this.seed = environment.getProperty("loadtest.seed", Long.class, 42L);
+        this.virtualClients = environment.getProperty("loadtest.virtual-clients", Boolean.class, concurrency > 200);
+        this.threadMode = environment.acceptsProfiles(Profiles.of("virtual-threads")) ? "virtual" : "platform";
+
+        for (String endpoint : List.of(CREATE_ORDER, VALIDATE_ORDER, RECEIVE_ORDER, CREATE_OUTBOUND,
+                VALIDATE_OUTBOUND, STOCK_SUMMARY, MOVEMENT_SEARCH)) {
+            recorders.put(endpoint, new LatencyRecorder(endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TricolApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:tricol-load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.tricol=WARN")
+                .run(args);
+
+        try {
+            new LoadTestHarness(context.getEnvironment()).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    public void run() throws Exception {
+        seedCatalog();
+
+        ExecutorService workers = virtualClients
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(concurrency);
+        long end = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Random random = new Random(seed + i);
+            futures.add(workers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    try {
+                        nextOperation(random);
+                    } catch (IOException e) {
+                        log.warn("Load test request failed: {}", e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+        // Only this thread writes the flag; the workers read it on every request
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        System.out.printf("%nTricol load test: %s server threads, %d clients, %d products, %d suppliers, %ds warmup, %ds measured%n",
+                threadMode, concurrency, productCount, supplierCount, warmup.toSeconds(), duration.toSeconds());
+        recorders.values().forEach(recorder -> System.out.println(recorder.report(seconds)));
+    }
+
+    private void seedCatalog() throws IOException, InterruptedException {
+        log.warn("Seeding {} suppliers and {} products", supplierCount, productCount);
+        for (int i = 0; i < supplierCount; i++) {
+            Map<String, Object> supplier = Map.of(
+                    "companyName", "Load Supplier " + i,
+                    "city", "Casablanca",
+                    "email", "supplier" + i + "@load.test",
+                    "ice", String.format("ICE%012d", i));
+            supplierIds.add(idOf(send("POST", "/suppliers", supplier, null)));
+        }
+
+        Random random = new Random(seed);
+        for (int i = 0; i < productCount; i++) {
+            Map<String, Object> product = Map.of(
+                    "reference", String.format("LOAD-%05d", i),
+                    "name", "Load product " + i,
+                    "description", "Generated by the load test harness",
+                    "unitPrice", BigDecimal.valueOf(1 + random.nextInt(50_000), 2),
+                    "category", "Category " + (i % 20),
+                    "reorderPoint", random.nextInt(50),
+                    "unit", "pcs");
+            productIds.add(idOf(send("POST", "/products", product, null)));
+        }
+    }
+
+    private void nextOperation(Random random) throws IOException, InterruptedException {
+        int roll = random.nextInt(100);
+        if (roll < 20) {
+            createOrder(random);
+        } else if (roll < 35) {
+            receiveOrder();
+        } else if (roll < 50) {
+            createOutbound(random);
+        } else if (roll < 65) {
+            validateOutbound();
+        } else if (roll < 80) {
+            send("GET", "/stock", null, STOCK_SUMMARY);
+        } else {
+            Long productId = randomProduct(random);
+            String type = random.nextBoolean() ? "ENTREE" : "SORTIE";
+            send("GET", "/stock/movements/search?productId=" + productId + "&type=" + type + "&limit=50",
+                    null, MOVEMENT_SEARCH);
+        }
+    }
+
+    private void createOrder(Random random) throws IOException, InterruptedException {
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(5);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of(
+                    "productId", randomProduct(random),
+                    "quantity", 10 + random.nextInt(200),
+                    "unitPrice", BigDecimal.valueOf(1 + random.nextInt(50_000), 2)));
+        }
+        Map<String, Object> order = Map.of(
+                "supplierId", supplierIds.get(random.nextInt(supplierIds.size())),
+                "orderDate", LocalDate.now().toString(),
+                "items", items);
+
+        Long id = idOf(send("POST", "/orders", order, CREATE_ORDER));
+        if (id != null) {
+            pendingOrders.add(id);
+        }
+    }
+
+    private void receiveOrder() throws IOException, InterruptedException {
+        Long id = pendingOrders.poll();
+        if (id == null) {
+            return;
+        }
+        send("PUT", "/orders/" + id + "/validate", null, VALIDATE_ORDER);
+        send("PUT", "/orders/" + id + "/receive", null, RECEIVE_ORDER);
+    }
+
+    private void createOutbound(Random random) throws IOException, InterruptedException {
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of(
+                    "productId", randomProduct(random),
+                    "quantity", 1 + random.nextInt(20)));
+        }
+        Map<String, Object> outbound = Map.of(
+                "reason", "PRODUCTION",
+                "workshop", "Workshop " + random.nextInt(10),
+                "items", items);
+
+        Long id = idOf(send("POST", "/stock-outbound", outbound, CREATE_OUTBOUND));
+        if (id != null) {
+            draftOutbounds.add(id);
+        }
+    }
+
+    private void validateOutbound() throws IOException, InterruptedException {
+        Long id = draftOutbounds.poll();
+        if (id != null) {
+            send("PUT", "/stock-outbound/" + id + "/validate", null, VALIDATE_OUTBOUND);
+        }
+    }
+
+    private Long randomProduct(Random random) {
+        // Skewed towards the first products so a few items see most of the movements
+        double skew = Math.pow(random.nextDouble(), 3);
+        return productIds.get((int) (skew * productIds.size()));
+    }
+
+    private JsonNode send(String method, String path, Object body, String endpoint) throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .method(method, publisher)
+                .build();
+
+        LatencyRecorder recorder = endpoint != null && recording ? recorders.get(endpoint) : null;
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            if (recorder != null) {
+                recorder.recordFailure();
+            }
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (recorder != null) {
+            recorder.record(elapsed);
+            recorder.recordStatus(response.statusCode());
+        }
+
+        if (response.statusCode() >= 300 || response.body().length == 0) {
+            return null;
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static Long idOf(JsonNode node) {
+        return node == null || !node.hasNonNull("id") ? null : node.get("id").asLong();
+    }
+}
@@ -0,0 +1,29 @@
+package com.tricol.Tricol.metrics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class SqlStatementMatchers {
+
+    private static final Pattern STATEMENTS = Pattern.compile("db;desc=\"(\\d+) statements\"");
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher statementCount(int expected) {
+        return result -> assertThat(statementsOf(result.getResponse().getHeader("Server-Timing")))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    public static int statementsOf(String serverTiming) {
+        assertThat(serverTiming).as("Server-Timing header").isNotNull();
+        Matcher matcher = STATEMENTS.matcher(serverTiming);
+        assertThat(matcher.find()).as("statement count in Server-Timing: %s", serverTiming).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+}
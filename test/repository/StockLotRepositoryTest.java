@@ -0,0 +1,87 @@
+package com.tricol.Tricol.repository;
+
+import com.tricol.Tricol.dto.request.create.ProductCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
+import com.tricol.Tricol.metrics.RequestSqlStats;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.service.ProductService;
+import com.tricol.Tricol.service.SupplierOrderService;
+import com.tricol.Tricol.service.SupplierService;
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tricol-lots;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StockLotRepositoryTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierOrderService supplierOrderService;
+
+    @Autowired
+    private StockLotRepository stockLotRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void lotsLoadWithoutTheirSupplierOrders() {
+        Long productId = productService.createProduct(new ProductCreateRequestDTO(
+                "LAZY-LOT", "Lazy product", "Lazy loading test product", new BigDecimal("3.00"),
+                "Lazy", 0, "pcs")).getId();
+        Long supplierId = supplierService.createSupplier(new SupplierCreateRequestDTO(
+                "Lazy Supplier", null, null, null, null, null, "ICE-LAZY")).getId();
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long orderId = supplierOrderService.createOrder(new SupplierOrderRequestDTO(supplierId, LocalDate.now(),
+                    List.of(new SupplierOrderItemRequestDTO(productId, 10, new BigDecimal("1.00"))))).getId();
+            supplierOrderService.validateOrder(orderId);
+            supplierOrderService.receiveOrder(orderId);
+            orderIds.add(orderId);
+        }
+
+        List<StockLot> lots = new ArrayList<>();
+        RequestSqlStats stats = RequestSqlStats.capture(() ->
+                lots.addAll(stockLotRepository.findByProduct(productRepository.getReferenceById(productId))));
+
+        // One query for the lots; each supplier order stays an uninitialised proxy that still knows its id
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(lots).hasSize(3).allSatisfy(lot -> assertThat(Hibernate.isInitialized(lot.getSupplierOrder())).isFalse());
+        assertThat(lots).extracting(lot -> lot.getSupplierOrder().getId()).containsExactlyInAnyOrderElementsOf(orderIds);
+        assertThatThrownBy(() -> lots.get(0).getSupplierOrder().getOrderDate())
+                .isInstanceOf(LazyInitializationException.class);
+
+        // Inside a transaction the order loads on first access
+        LocalDate orderDate = transactionTemplate.execute(status -> stockLotRepository.findById(lots.get(0).getId())
+                .orElseThrow()
+                .getSupplierOrder()
+                .getOrderDate());
+        assertThat(orderDate).isEqualTo(LocalDate.now());
+    }
+}
@@ -0,0 +1,174 @@
+package com.tricol.Tricol.service;
+
+import com.tricol.Tricol.dto.request.create.ProductCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.StockOutboundItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.StockOutboundRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
+import com.tricol.Tricol.dto.response.ProductResponseDTO;
+import com.tricol.Tricol.enums.OutboundReason;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tricol-alerts;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "tricol.alerts.recheck-delay=20ms"
+})
+class StockAlertServiceTest {
+
+    private static final int PRODUCTS = 16;
+    private static final int ROUNDS = 4;
+    private static final int REORDER_POINT = 10;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierOrderService supplierOrderService;
+
+    @Autowired
+    private StockOutboundService stockOutboundService;
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Test
+    void racingReceiptsAndOutboundsLeaveTheFinalAlertSet() throws Exception {
+        Long supplierId = supplierService.createSupplier(new SupplierCreateRequestDTO(
+                "Alert Supplier", null, null, null, null, null, "ICE-ALERTS")).getId();
+
+        // Half the products start below the reorder point and half above it
+        Map<Long, Integer> stock = new LinkedHashMap<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Long productId = createProduct("ALERT-" + i);
+            int quantity = i % 2 == 0 ? 5 : 30;
+            receive(supplierId, productId, quantity);
+            stock.put(productId, quantity);
+        }
+        awaitAlerts(stock.keySet(), alerting(stock));
+
+        // Every round a receipt and an outbound race on each product and flip its alert state
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (Map.Entry<Long, Integer> entry : stock.entrySet()) {
+                Long productId = entry.getKey();
+                int current = entry.getValue();
+                int received = current <= REORDER_POINT ? 20 : 5;
+                int issued = current <= REORDER_POINT ? 3 : current + received - REORDER_POINT;
+
+                Long orderId = createReceivableOrder(supplierId, productId, received);
+                Long outboundId = createOutbound(productId, issued);
+                tasks.add(() -> receiveOrder(orderId));
+                tasks.add(() -> validateOutbound(outboundId));
+                entry.setValue(current + received - issued);
+            }
+
+            runConcurrently(tasks);
+
+            awaitAlerts(stock.keySet(), alerting(stock));
+            Thread.sleep(100);
+            assertThat(alertedAmong(stock.keySet())).isEqualTo(alerting(stock));
+        }
+    }
+
+    private static Set<Long> alerting(Map<Long, Integer> stock) {
+        return stock.entrySet().stream()
+                .filter(entry -> entry.getValue() <= REORDER_POINT)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private void awaitAlerts(Set<Long> watched, Set<Long> expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!alertedAmong(watched).equals(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(alertedAmong(watched)).isEqualTo(expected);
+    }
+
+    private Set<Long> alertedAmong(Set<Long> watched) {
+        return stockAlertService.getActiveAlerts().stream()
+                .map(ProductResponseDTO::getId)
+                .filter(watched::contains)
+                .collect(Collectors.toSet());
+    }
+
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createProduct(String reference) {
+        return productService.createProduct(new ProductCreateRequestDTO(
+                reference, "Alert product", "Alert test product", new BigDecimal("10.00"),
+                "Alerts", REORDER_POINT, "pcs")).getId();
+    }
+
+    private void receive(Long supplierId, Long productId, int quantity) {
+        receiveOrder(createReceivableOrder(supplierId, productId, quantity));
+    }
+
+    private Long createReceivableOrder(Long supplierId, Long productId, int quantity) {
+        Long orderId = supplierOrderService.createOrder(new SupplierOrderRequestDTO(
+                supplierId, LocalDate.now(),
+                List.of(new SupplierOrderItemRequestDTO(productId, quantity, new BigDecimal("10.00"))))).getId();
+        supplierOrderService.validateOrder(orderId);
+        return orderId;
+    }
+
+    private Void receiveOrder(Long orderId) {
+        supplierOrderService.receiveOrder(orderId);
+        return null;
+    }
+
+    private Long createOutbound(Long productId, int quantity) {
+        return stockOutboundService.createOutbound(new StockOutboundRequestDTO(
+                OutboundReason.PRODUCTION, "Alert workshop", null,
+                List.of(new StockOutboundItemRequestDTO(productId, quantity, null)))).getId();
+    }
+
+    private Void validateOutbound(Long outboundId) {
+        stockOutboundService.validateOutbound(outboundId);
+        return null;
+    }
+}
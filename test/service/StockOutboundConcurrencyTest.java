@@ -0,0 +1,220 @@
+package com.tricol.Tricol.service;
+
+import com.tricol.Tricol.dto.request.create.ProductCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.StockOutboundItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.StockOutboundRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierCreateRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderItemRequestDTO;
+import com.tricol.Tricol.dto.request.create.SupplierOrderRequestDTO;
+import com.tricol.Tricol.enums.OutboundReason;
+import com.tricol.Tricol.enums.OutboundStatus;
+import com.tricol.Tricol.model.StockLot;
+import com.tricol.Tricol.repository.ProductRepository;
+import com.tricol.Tricol.repository.StockLotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tricol-concurrency;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StockOutboundConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierOrderService supplierOrderService;
+
+    @Autowired
+    private StockOutboundService stockOutboundService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockLotRepository stockLotRepository;
+
+    @Test
+    void sameOutboundIsValidatedOnlyOnce() throws Exception {
+        Long productId = createProduct("STRESS-SAME");
+        receive(productId, 40, 60);
+        Long outboundId = createOutbound(productId, 25);
+
+        AtomicInteger validated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(THREADS, i -> {
+            try {
+                stockOutboundService.validateOutbound(outboundId);
+                validated.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(validated.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(THREADS - 1);
+        assertThat(stockOutboundService.getById(outboundId).getStatus()).isEqualTo(OutboundStatus.VALIDATED);
+        assertThat(stockService.getBalance(productId).getQuantity()).isEqualTo(75);
+        assertThat(openQuantity(productId)).isEqualTo(75);
+    }
+
+    @Test
+    void competingOutboundsNeverOversell() throws Exception {
+        Long productId = createProduct("STRESS-COMPETE");
+        receive(productId, 30, 50);
+
+        List<Long> outboundIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            outboundIds.add(createOutbound(productId, 5));
+        }
+
+        AtomicInteger validated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(THREADS, i -> {
+            try {
+                stockOutboundService.validateOutbound(outboundIds.get(i));
+                validated.incrementAndGet();
+            } catch (IllegalStateException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(validated.get()).isEqualTo(16);
+        assertThat(rejected.get()).isEqualTo(THREADS - 16);
+        assertThat(stockService.getBalance(productId).getQuantity()).isZero();
+        assertThat(openQuantity(productId)).isZero();
+        assertThat(stockLotRepository.findByProduct(productRepository.getReferenceById(productId)))
+                .allSatisfy(lot -> assertThat(lot.getRemainingQuantity()).isNotNegative());
+    }
+
+    @Test
+    void overlappingBatchesValidateEachOutboundOnce() throws Exception {
+        Long productId = createProduct("STRESS-BATCH");
+        receive(productId, 100);
+
+        List<Long> outboundIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            outboundIds.add(createOutbound(productId, 5));
+        }
+
+        AtomicInteger validated = new AtomicInteger();
+        runConcurrently(THREADS, i -> {
+            List<Long> batch = new ArrayList<>(outboundIds);
+            Collections.rotate(batch, i);
+            validated.addAndGet(stockOutboundService.validateOutbounds(batch).getValidated());
+        });
+
+        assertThat(validated.get()).isEqualTo(outboundIds.size());
+        assertThat(stockService.getBalance(productId).getQuantity()).isEqualTo(60);
+        assertThat(openQuantity(productId)).isEqualTo(60);
+    }
+
+    @Test
+    void rebuildsInterleavedWithOutboundsKeepTheBalanceExact() throws Exception {
+        Long productId = createProduct("STRESS-REBUILD");
+        receive(productId, 200);
+
+        List<Long> outboundIds = new ArrayList<>();
+        for (int i = 0; i < THREADS / 2; i++) {
+            outboundIds.add(createOutbound(productId, 3));
+        }
+
+        // Odd tasks rebuild every balance while even ones validate outbounds
+        runConcurrently(THREADS, i -> {
+            if (i % 2 == 0) {
+                stockOutboundService.validateOutbound(outboundIds.get(i / 2));
+            } else {
+                stockService.rebuildStockBalances();
+            }
+        });
+
+        assertThat(stockService.getBalance(productId).getQuantity()).isEqualTo(200 - 3 * outboundIds.size());
+        assertThat(openQuantity(productId)).isEqualTo(200 - 3 * outboundIds.size());
+    }
+
+    private void runConcurrently(int threads, IndexedTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                Callable<Void> call = () -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createProduct(String reference) {
+        return productService.createProduct(new ProductCreateRequestDTO(
+                reference, "Stress product", "Concurrency test product", new BigDecimal("10.00"),
+                "Stress", 0, "pcs")).getId();
+    }
+
+    private void receive(Long productId, int... quantities) {
+        Long supplierId = supplierService.createSupplier(new SupplierCreateRequestDTO(
+                "Stress Supplier", null, null, null, null, null, "ICE-" + productId)).getId();
+
+        for (int quantity : quantities) {
+            Long orderId = supplierOrderService.createOrder(new SupplierOrderRequestDTO(
+                    supplierId, LocalDate.now(),
+                    List.of(new SupplierOrderItemRequestDTO(productId, quantity, new BigDecimal("10.00"))))).getId();
+            supplierOrderService.validateOrder(orderId);
+            supplierOrderService.receiveOrder(orderId);
+        }
+    }
+
+    private Long createOutbound(Long productId, int quantity) {
+        return stockOutboundService.createOutbound(new StockOutboundRequestDTO(
+                OutboundReason.PRODUCTION, "Stress workshop", null,
+                List.of(new StockOutboundItemRequestDTO(productId, quantity, null)))).getId();
+    }
+
+    private int openQuantity(Long productId) {
+        return stockLotRepository.findByProduct(productRepository.getReferenceById(productId)).stream()
+                .mapToInt(StockLot::getRemainingQuantity)
+                .sum();
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+}